@@ -0,0 +1,93 @@
+package ch.claude_martin.recursive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import ch.claude_martin.recursive.function.RecursiveBatchFunction;
+
+/** Recursion that loads the values of all keys of one level in one batch. Each call from outside is
+ * run in rounds: All keys that were passed to {@code self} in one round are loaded by one call of
+ * the loader, and then the bodies of those keys run, which add the keys of the next round. Each key
+ * is loaded and calculated only once per call from outside. So the number of batches is the depth
+ * of the tree, not the number of nodes. Everything runs on the calling thread. */
+final class Batching {
+  private Batching() {
+    throw new UnsupportedOperationException();
+  }
+
+  /** State of one call from outside. */
+  private static final class Run<K, V, R> {
+    final Map<K, CompletableFuture<R>> results = new HashMap<>();
+    List<K> pending = new ArrayList<>();
+    final Function<K, CompletableFuture<R>> self = this::request;
+
+    CompletableFuture<R> request(K key) {
+      CompletableFuture<R> result = this.results.get(key);
+      if (result == null) {
+        this.results.put(key, result = new CompletableFuture<>());
+        this.pending.add(key);
+      }
+      return result;
+    }
+  }
+
+  static <K, V, R> Function<K, R> function(Function<? super List<K>, ? extends List<V>> loader,
+      int maxBatch, RecursiveBatchFunction<K, V, R> f) {
+    requireNonNull(loader, "loader");
+    requireNonNull(f, "f");
+    if (maxBatch < 1)
+      throw new IllegalArgumentException("maxBatch=" + maxBatch);
+    return key -> {
+      final Run<K, V, R> run = new Run<>();
+      final CompletableFuture<R> result = run.request(key);
+      while (!run.pending.isEmpty()) {
+        final List<K> round = run.pending;
+        run.pending = new ArrayList<>();
+        for (int from = 0; from < round.size(); from += maxBatch) {
+          final List<K> batch = round.subList(from, Math.min(round.size(), from + maxBatch));
+          final List<V> values = loader.apply(batch);
+          if (values == null || values.size() != batch.size())
+            throw new IllegalStateException("The loader returned "
+                + (values == null ? null : values.size()) + " values for " + batch.size()
+                + " keys.");
+          for (int i = 0; i < batch.size(); i++) {
+            final K k = batch.get(i);
+            final CompletableFuture<R> future = run.results.get(k);
+            try {
+              requireNonNull(f.apply(k, values.get(i), run.self), "result of f").whenComplete(
+                  (r, e) -> {
+                    if (e == null)
+                      future.complete(r);
+                    else
+                      future.completeExceptionally(e);
+                  });
+            } catch (final RuntimeException e) {
+              future.completeExceptionally(e);
+            }
+          }
+        }
+      }
+      if (!result.isDone())
+        throw new IllegalStateException("The result of " + key
+            + " does not depend on the results of self only.");
+      try {
+        return result.join();
+      } catch (final CompletionException e) {
+        // Throw the exception of the body, like all other recursive functions.
+        final Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException)
+          throw (RuntimeException) cause;
+        if (cause instanceof Error)
+          throw (Error) cause;
+        throw e;
+      }
+    };
+  }
+}
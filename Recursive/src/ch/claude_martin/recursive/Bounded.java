@@ -0,0 +1,111 @@
+package ch.claude_martin.recursive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import ch.claude_martin.recursive.cache.BiFunctionCache;
+import ch.claude_martin.recursive.cache.FunctionCache;
+import ch.claude_martin.recursive.function.RecursiveBiFunction;
+
+/** Recursions that are bounded by a {@link Budget}. Each call from outside of the recursion starts
+ * a new {@link Budget.Meter} and binds a new closure to it, so no state is shared between calls,
+ * except the cache. When the budget is exceeded, the {@link BudgetExceededException} is thrown
+ * through all frames of the recursion. Nothing is stored for those frames, but all entries that
+ * were completed before stay in the cache, so another attempt continues from there.
+ *
+ * @see Recursive#boundedFunction(BiFunction, Budget) */
+final class Bounded {
+  private Bounded() {
+    throw new UnsupportedOperationException();
+  }
+
+  /** Bounded {@link Function} that throws the exception.
+   * 
+   * @param cache
+   *          the cache, or null */
+  static <T, R> Function<T, R> function(BiFunction<T, Function<T, R>, R> f,
+      FunctionCache<T, R> cache, Budget budget) {
+    return bound(f, cache, budget, null);
+  }
+
+  /** Bounded {@link Function} with a fallback.
+   * 
+   * @param cache
+   *          the cache, or null */
+  static <T, R> Function<T, R> function(BiFunction<T, Function<T, R>, R> f,
+      FunctionCache<T, R> cache, Budget budget, Function<? super T, ? extends R> fallback) {
+    return bound(f, cache, budget, requireNonNull(fallback, "fallback"));
+  }
+
+  /** @param fallback
+   *          the result if the budget is exceeded, or null to throw the exception */
+  private static <T, R> Function<T, R> bound(BiFunction<T, Function<T, R>, R> f,
+      FunctionCache<T, R> cache, Budget budget, Function<? super T, ? extends R> fallback) {
+    requireNonNull(f, "f");
+    requireNonNull(budget, "budget");
+    return t -> {
+      final Budget.Meter meter = budget.start();
+      final Function<T, R> self = new Function<T, R>() {
+        @Override
+        public R apply(T x) {
+          meter.step();
+          return cache == null ? f.apply(x, this) : cache.get(x, () -> f.apply(x, this));
+        }
+      };
+      if (fallback == null)
+        return self.apply(t);
+      try {
+        return self.apply(t);
+      } catch (final BudgetExceededException e) {
+        return fallback.apply(t);
+      }
+    };
+  }
+
+  /** Bounded {@link BiFunction} that throws the exception.
+   * 
+   * @param cache
+   *          the cache, or null */
+  static <T, U, R> BiFunction<T, U, R> biFunction(RecursiveBiFunction<T, U, R> f,
+      BiFunctionCache<T, U, R> cache, Budget budget) {
+    return bound(f, cache, budget, null);
+  }
+
+  /** Bounded {@link BiFunction} with a fallback.
+   * 
+   * @param cache
+   *          the cache, or null */
+  static <T, U, R> BiFunction<T, U, R> biFunction(RecursiveBiFunction<T, U, R> f,
+      BiFunctionCache<T, U, R> cache, Budget budget,
+      BiFunction<? super T, ? super U, ? extends R> fallback) {
+    return bound(f, cache, budget, requireNonNull(fallback, "fallback"));
+  }
+
+  /** @param fallback
+   *          the result if the budget is exceeded, or null to throw the exception */
+  private static <T, U, R> BiFunction<T, U, R> bound(RecursiveBiFunction<T, U, R> f,
+      BiFunctionCache<T, U, R> cache, Budget budget,
+      BiFunction<? super T, ? super U, ? extends R> fallback) {
+    requireNonNull(f, "f");
+    requireNonNull(budget, "budget");
+    return (t, u) -> {
+      final Budget.Meter meter = budget.start();
+      final BiFunction<T, U, R> self = new BiFunction<T, U, R>() {
+        @Override
+        public R apply(T x, U y) {
+          meter.step();
+          return cache == null ? f.apply(x, y, this) : cache.get(x, y, () -> f.apply(x, y, this));
+        }
+      };
+      if (fallback == null)
+        return self.apply(t, u);
+      try {
+        return self.apply(t, u);
+      } catch (final BudgetExceededException e) {
+        return fallback.apply(t, u);
+      }
+    };
+  }
+}
@@ -0,0 +1,100 @@
+package ch.claude_martin.recursive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+/** Limits of a bounded recursion: A maximum number of calls, and a maximum duration. Each call from
+ * outside of the recursion gets the whole budget. All calls are counted, including the first one
+ * and those that are answered by a cache. The clock is only read every {@value #CLOCK_INTERVAL}
+ * calls, so the time limit might be exceeded a little.
+ *
+ * @author Claude Martin
+ * @see Recursive#boundedFunction(java.util.function.BiFunction, Budget) */
+public final class Budget {
+  /** Number of calls between two reads of the clock. Must be a power of two. */
+  static final int CLOCK_INTERVAL = 64;
+
+  /** Counts the calls of one run. */
+  static final class Meter {
+    private final Budget budget;
+    private final long start = System.nanoTime();
+    private long calls;
+
+    Meter(Budget budget) {
+      this.budget = budget;
+    }
+
+    /** Counts one call. */
+    void step() {
+      final long c = ++this.calls;
+      if (c > this.budget.maxCalls)
+        throw this.exceeded("Maximum number of calls exceeded: " + this.budget.maxCalls);
+      if ((c & (CLOCK_INTERVAL - 1)) == 0 && this.budget.maxNanos != Long.MAX_VALUE
+          && System.nanoTime() - this.start > this.budget.maxNanos)
+        throw this.exceeded("Time limit exceeded: " + Duration.ofNanos(this.budget.maxNanos));
+    }
+
+    private BudgetExceededException exceeded(String message) {
+      return new BudgetExceededException(message, this.calls, System.nanoTime() - this.start);
+    }
+  }
+
+  private final long maxCalls;
+  private final long maxNanos;
+
+  private Budget(long maxCalls, long maxNanos) {
+    if (maxCalls < 1)
+      throw new IllegalArgumentException("maxCalls=" + maxCalls);
+    if (maxNanos < 0)
+      throw new IllegalArgumentException("maxNanos=" + maxNanos);
+    this.maxCalls = maxCalls;
+    this.maxNanos = maxNanos;
+  }
+
+  /** A budget of calls, without a time limit. */
+  public static Budget ofCalls(long maxCalls) {
+    return new Budget(maxCalls, Long.MAX_VALUE);
+  }
+
+  /** A budget of time, without a limit of calls. */
+  public static Budget ofTime(Duration timeout) {
+    return new Budget(Long.MAX_VALUE, nanos(timeout));
+  }
+
+  /** A budget of calls and time. Whatever runs out first ends the recursion. */
+  public static Budget of(long maxCalls, Duration timeout) {
+    return new Budget(maxCalls, nanos(timeout));
+  }
+
+  private static long nanos(Duration timeout) {
+    requireNonNull(timeout, "timeout");
+    try {
+      return timeout.toNanos();
+    } catch (final ArithmeticException e) {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  /** Starts a new run. */
+  Meter start() {
+    return new Meter(this);
+  }
+
+  /** Maximum number of calls, or {@link Long#MAX_VALUE} if there is no limit. */
+  public long getMaxCalls() {
+    return this.maxCalls;
+  }
+
+  /** Maximum duration of a call from outside of the recursion, or null if there is no limit. */
+  public Duration getTimeout() {
+    return this.maxNanos == Long.MAX_VALUE ? null : Duration.ofNanos(this.maxNanos);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Budget[maxCalls=%s; timeout=%s]",
+        this.maxCalls == Long.MAX_VALUE ? "none" : this.maxCalls,
+        this.maxNanos == Long.MAX_VALUE ? "none" : this.getTimeout());
+  }
+}
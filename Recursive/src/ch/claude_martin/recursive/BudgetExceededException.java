@@ -0,0 +1,29 @@
+package ch.claude_martin.recursive;
+
+/** Thrown when a bounded recursion uses more calls or more time than its {@link Budget} allows.
+ * Entries that were already added to a cache are kept.
+ *
+ * @author Claude Martin
+ * @see Recursive#boundedFunction(java.util.function.BiFunction, Budget) */
+public class BudgetExceededException extends RuntimeException {
+  private static final long serialVersionUID = 4781284365407826633L;
+
+  private final long calls;
+  private final long elapsedNanos;
+
+  public BudgetExceededException(String message, long calls, long elapsedNanos) {
+    super(message);
+    this.calls = calls;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /** Number of calls until the budget was exceeded. */
+  public long getCalls() {
+    return this.calls;
+  }
+
+  /** Time in nanoseconds until the budget was exceeded. */
+  public long getElapsedNanos() {
+    return this.elapsedNanos;
+  }
+}
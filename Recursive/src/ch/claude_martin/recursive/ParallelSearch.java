@@ -0,0 +1,126 @@
+package ch.claude_martin.recursive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import ch.claude_martin.recursive.function.RecursiveBiSearch;
+import ch.claude_martin.recursive.function.RecursiveSearch;
+
+/** Search for any match in a tree, where all children of a node are searched in parallel. When a
+ * result is found, all other branches are cancelled: Nodes that are not started yet are skipped,
+ * and a body that passes another child to {@code self} is stopped by an exception. The search
+ * only returns when no body is running anymore. A body that throws also ends the search, and the
+ * exception is thrown to the caller, even if a result was found. Exceptions of other bodies are
+ * added to it as suppressed exceptions. */
+final class ParallelSearch {
+  private ParallelSearch() {
+    throw new UnsupportedOperationException();
+  }
+
+  /** Thrown by {@code self} after the search is done. */
+  private static final class Cancelled extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    Cancelled() {
+      super(null, null, false, false);
+    }
+  }
+
+  private static final Cancelled CANCELLED = new Cancelled();
+
+  /** State of one search. */
+  private static final class State<R> {
+    final AtomicReference<R> result = new AtomicReference<>();
+    /** The first exception of a body. */
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    /** Set when a result or a failure is found. */
+    volatile boolean done;
+  }
+
+  /** One node of the tree. */
+  private static final class Node<R> extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    final State<R> state;
+    final Function<Node<R>, Optional<R>> body;
+    final List<Node<R>> children = new ArrayList<>();
+
+    Node(State<R> state, Function<Node<R>, Optional<R>> body) {
+      this.state = state;
+      this.body = body;
+    }
+
+    /** Searches a child in parallel. */
+    void fork(Function<Node<R>, Optional<R>> child) {
+      if (this.state.done)
+        throw CANCELLED;
+      final Node<R> node = new Node<>(this.state, child);
+      this.children.add(node);
+      node.fork();
+    }
+
+    @Override
+    protected void compute() {
+      if (this.state.done)
+        return;
+      try {
+        final Optional<R> found = this.body.apply(this);
+        if (found != null && found.isPresent()
+            && this.state.result.compareAndSet(null, found.get()))
+          this.state.done = true;
+      } catch (final Cancelled e) {
+        // the search is done
+      } catch (final RuntimeException | Error e) {
+        final Throwable first = this.state.failure.updateAndGet(f -> f == null ? e : f);
+        if (first != e)
+          first.addSuppressed(e);
+        this.state.done = true;
+      } finally {
+        // When the search is done, the children skip their body or end at the next call of self.
+        for (final Node<R> child : this.children)
+          child.quietlyJoin();
+      }
+    }
+  }
+
+  private static <R> Optional<R> run(ForkJoinPool pool, Function<Node<R>, Optional<R>> root) {
+    final State<R> state = new State<>();
+    pool.invoke(new Node<>(state, root));
+    final Throwable failure = state.failure.get();
+    if (failure instanceof Error)
+      throw (Error) failure;
+    if (failure != null)
+      throw (RuntimeException) failure;
+    return Optional.ofNullable(state.result.get());
+  }
+
+  /** The search of the node {@code t}. */
+  private static <T, R> Function<Node<R>, Optional<R>> step(RecursiveSearch<T, R> f, T t) {
+    return node -> f.apply(t, c -> node.fork(step(f, c)));
+  }
+
+  private static <T, U, R> Function<Node<R>, Optional<R>> step(RecursiveBiSearch<T, U, R> f, T t,
+      U u) {
+    return node -> f.apply(t, u, (c, d) -> node.fork(step(f, c, d)));
+  }
+
+  static <T, R> Function<T, Optional<R>> function(RecursiveSearch<T, R> f, ForkJoinPool pool) {
+    requireNonNull(f, "f");
+    requireNonNull(pool, "pool");
+    return t -> run(pool, step(f, t));
+  }
+
+  static <T, U, R> BiFunction<T, U, Optional<R>> biFunction(RecursiveBiSearch<T, U, R> f,
+      ForkJoinPool pool) {
+    requireNonNull(f, "f");
+    requireNonNull(pool, "pool");
+    return (t, u) -> run(pool, step(f, t, u));
+  }
+}
@@ -0,0 +1,274 @@
+package ch.claude_martin.recursive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import ch.claude_martin.recursive.function.RecursiveBiFunction;
+import ch.claude_martin.recursive.function.RecursiveIntFunction;
+import ch.claude_martin.recursive.function.RecursiveIntToLongFunction;
+import ch.claude_martin.recursive.function.RecursiveIntUnaryOperator;
+import ch.claude_martin.recursive.function.RecursiveLongUnaryOperator;
+
+/** Records the logical call tree of recursive functions. Each call is a frame, labelled by a
+ * classifier of the argument. A sample is one call from outside of the recursion, including all
+ * calls it makes. Only the given fraction of those calls is traced. The time spent in each frame,
+ * without its children, is added to the path of labels from the root to the frame.
+ * 
+ * <p>
+ * The result is exported in the collapsed stack format, which is used by flame graph tools: One
+ * line per path, with the labels separated by semicolons, followed by a space and the time in
+ * nanoseconds.
+ * 
+ * <p>
+ * The tracer wraps the definition of a function, which is then passed to {@link Recursive}:
+ * 
+ * <pre>
+ * RecursionTracer tracer = Recursive.tracer("fib", n -&gt; n.toString(), 0.01);
+ * IntToLongFunction fib = Recursive.intToLongFunction(tracer.intToLongFunction(
+ *     (n, self) -&gt; n &lt; 2 ? n : self.applyAsLong(n - 1) + self.applyAsLong(n - 2)));
+ * </pre>
+ * 
+ * With a cache, only the calculated values are traced. The tracer is thread safe. Each thread has
+ * its own call stack.
+ *
+ * @author Claude Martin
+ * @see Recursive#tracer(String, Function, double) */
+public final class RecursionTracer {
+  private static final class Frame {
+    /** Length of the path before this frame. */
+    int length;
+    long start;
+    /** Total time of the children. */
+    long children;
+  }
+
+  /** Call stack of one thread. */
+  private static final class State {
+    final StringBuilder path = new StringBuilder();
+    Frame[] frames = new Frame[0];
+    /** Traced frames on the stack. */
+    int depth;
+    /** Frames on the stack that are not traced. */
+    int untraced;
+  }
+
+  private final String root;
+  private final Function<Object, String> classifier;
+  private final double rate;
+  private final ConcurrentHashMap<String, LongAdder> stacks = new ConcurrentHashMap<>();
+  private final LongAdder samples = new LongAdder();
+  private final ThreadLocal<State> states = ThreadLocal.withInitial(State::new);
+
+  RecursionTracer(String root, Function<Object, String> classifier, double rate) {
+    if (!(rate >= 0 && rate <= 1))
+      throw new IllegalArgumentException("rate=" + rate);
+    this.root = label(requireNonNull(root, "root"));
+    this.classifier = requireNonNull(classifier, "classifier");
+    this.rate = rate;
+  }
+
+  /** Frame names must not contain semicolons or line breaks. */
+  private static String label(String s) {
+    return s.replace(';', '_').replace('\n', ' ').replace('\r', ' ');
+  }
+
+  /** Decides if the call is traced. Then the caller pushes a frame. Either way, the caller must
+   * call {@link #exit(State, boolean)} after the call. The argument for the classifier is only
+   * created for traced calls, so calls that are not traced do not allocate anything. */
+  private boolean enter(State s) {
+    if (s.depth > 0)
+      return true;
+    if (s.untraced == 0 && ThreadLocalRandom.current().nextDouble() < this.rate)
+      return true;
+    s.untraced++;
+    return false;
+  }
+
+  private void push(State s, Object argument) {
+    // The classifier might throw, so it is called before the state is changed.
+    final String label = label(String.valueOf(this.classifier.apply(argument)));
+    if (s.depth == 0) {
+      s.path.setLength(0);
+      s.path.append(this.root);
+      this.samples.increment();
+    }
+    if (s.depth == s.frames.length) {
+      s.frames = Arrays.copyOf(s.frames, Math.max(16, s.depth << 1));
+      for (int i = s.depth; i < s.frames.length; i++)
+        s.frames[i] = new Frame();
+    }
+    final Frame frame = s.frames[s.depth++];
+    frame.length = s.path.length();
+    s.path.append(';').append(label);
+    frame.children = 0;
+    frame.start = System.nanoTime();
+  }
+
+  private void pop(State s) {
+    final long end = System.nanoTime();
+    final Frame frame = s.frames[--s.depth];
+    final long elapsed = end - frame.start;
+    this.stacks.computeIfAbsent(s.path.toString(), k -> new LongAdder()).add(
+        elapsed - frame.children);
+    s.path.setLength(frame.length);
+    if (s.depth > 0)
+      s.frames[s.depth - 1].children += elapsed;
+  }
+
+  /** Ends a call that was started by {@link #enter(State)}. */
+  private void exit(State s, boolean traced) {
+    if (traced)
+      this.pop(s);
+    else
+      s.untraced--;
+  }
+
+  /** Traces a {@link Function}.
+   * 
+   * @see Recursive#function(BiFunction) */
+  public <T, R> BiFunction<T, Function<T, R>, R> function(BiFunction<T, Function<T, R>, R> f) {
+    requireNonNull(f, "f");
+    return (t, self) -> {
+      final State s = this.states.get();
+      final boolean traced = this.enter(s);
+      if (traced)
+        this.push(s, t);
+      try {
+        return f.apply(t, self);
+      } finally {
+        this.exit(s, traced);
+      }
+    };
+  }
+
+  /** Traces a {@link java.util.function.BiFunction}. The classifier gets both arguments in a list.
+   * 
+   * @see Recursive#biFunction(RecursiveBiFunction) */
+  public <T, U, R> RecursiveBiFunction<T, U, R> biFunction(RecursiveBiFunction<T, U, R> f) {
+    requireNonNull(f, "f");
+    return (t, u, self) -> {
+      final State s = this.states.get();
+      final boolean traced = this.enter(s);
+      if (traced)
+        this.push(s, Arrays.asList(t, u));
+      try {
+        return f.apply(t, u, self);
+      } finally {
+        this.exit(s, traced);
+      }
+    };
+  }
+
+  /** Traces an {@link java.util.function.IntFunction}.
+   * 
+   * @see Recursive#intFunction(RecursiveIntFunction) */
+  public <R> RecursiveIntFunction<R> intFunction(RecursiveIntFunction<R> f) {
+    requireNonNull(f, "f");
+    return (i, self) -> {
+      final State s = this.states.get();
+      final boolean traced = this.enter(s);
+      if (traced)
+        this.push(s, i);
+      try {
+        return f.apply(i, self);
+      } finally {
+        this.exit(s, traced);
+      }
+    };
+  }
+
+  /** Traces an {@link java.util.function.IntToLongFunction}.
+   * 
+   * @see Recursive#intToLongFunction(RecursiveIntToLongFunction) */
+  public RecursiveIntToLongFunction intToLongFunction(RecursiveIntToLongFunction f) {
+    requireNonNull(f, "f");
+    return (i, self) -> {
+      final State s = this.states.get();
+      final boolean traced = this.enter(s);
+      if (traced)
+        this.push(s, i);
+      try {
+        return f.apply(i, self);
+      } finally {
+        this.exit(s, traced);
+      }
+    };
+  }
+
+  /** Traces an {@link java.util.function.IntUnaryOperator}.
+   * 
+   * @see Recursive#intUnaryOperator(RecursiveIntUnaryOperator) */
+  public RecursiveIntUnaryOperator intUnaryOperator(RecursiveIntUnaryOperator f) {
+    requireNonNull(f, "f");
+    return (i, self) -> {
+      final State s = this.states.get();
+      final boolean traced = this.enter(s);
+      if (traced)
+        this.push(s, i);
+      try {
+        return f.apply(i, self);
+      } finally {
+        this.exit(s, traced);
+      }
+    };
+  }
+
+  /** Traces a {@link java.util.function.LongUnaryOperator}.
+   * 
+   * @see Recursive#longUnaryOperator(RecursiveLongUnaryOperator) */
+  public RecursiveLongUnaryOperator longUnaryOperator(RecursiveLongUnaryOperator f) {
+    requireNonNull(f, "f");
+    return (l, self) -> {
+      final State s = this.states.get();
+      final boolean traced = this.enter(s);
+      if (traced)
+        this.push(s, l);
+      try {
+        return f.apply(l, self);
+      } finally {
+        this.exit(s, traced);
+      }
+    };
+  }
+
+  /** Number of traced calls from outside of the recursion. */
+  public long getSamples() {
+    return this.samples.sum();
+  }
+
+  /** Writes all paths in the collapsed stack format, sorted by path. */
+  public void writeCollapsed(Appendable out) throws IOException {
+    final Map<String, LongAdder> sorted = new TreeMap<>(this.stacks);
+    for (final Map.Entry<String, LongAdder> e : sorted.entrySet())
+      out.append(e.getKey()).append(' ').append(Long.toString(e.getValue().sum())).append('\n');
+  }
+
+  /** All paths in the collapsed stack format.
+   * 
+   * @see #writeCollapsed(Appendable) */
+  public String toCollapsed() {
+    final StringBuilder sb = new StringBuilder();
+    try {
+      this.writeCollapsed(sb);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return sb.toString();
+  }
+
+  /** Removes all recorded data. Calls that are traced right now are still recorded. */
+  public void reset() {
+    this.stacks.clear();
+    this.samples.reset();
+  }
+}
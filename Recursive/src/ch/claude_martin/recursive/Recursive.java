@@ -1,7 +1,11 @@
 package ch.claude_martin.recursive;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.*;
 
 import ch.claude_martin.recursive.cache.*;
@@ -17,6 +21,11 @@ import ch.claude_martin.recursive.function.*;
  * based on arrays or JCF. Use HPPC or Koloboke for best results.
  *
  * <p>
+ * Each closure is an instance of an anonymous class, which passes itself ({@code this}) as "self".
+ * So the closure has no mutable field, and it can be shared with other threads like any immutable
+ * object.
+ *
+ * <p>
  * Note: Each cache exists at least as long as the closure exists. In some cases this might lead to
  * {@link OutOfMemoryError}.
  *
@@ -24,12 +33,17 @@ import ch.claude_martin.recursive.function.*;
  * @see Recursive
  * 
  * @param <F>
- *          The type of functional interface of the closure. */
+ *          The type of functional interface of the closure. This is not used anymore, but kept so
+ *          that existing code still compiles. */
 public class Recursive<F> {
   /** Recursive {@link BiFunction}. */
   public static <T, U, R> BiFunction<T, U, R> biFunction(RecursiveBiFunction<T, U, R> f) {
-    final Recursive<BiFunction<T, U, R>> r = new Recursive<>();
-    return r.f = (t, u) -> f.apply(t, u, r.f);
+    return new BiFunction<T, U, R>() {
+      @Override
+      public R apply(T t, U u) {
+        return f.apply(t, u, this);
+      }
+    };
   }
 
   /** Like {@link #biFunction}, but using memoization.
@@ -56,14 +70,22 @@ public class Recursive<F> {
    * @return recursive, cached BiFunction */
   public static <T, U, R> BiFunction<T, U, R> cachedBiFunction(RecursiveBiFunction<T, U, R> f,
       BiFunctionCache<T, U, R> cache) {
-    final Recursive<BiFunction<T, U, R>> r = new Recursive<>();
-    return r.f = (t, u) -> cache.get(t, u, () -> f.apply(t, u, r.f));
+    return new BiFunction<T, U, R>() {
+      @Override
+      public R apply(T t, U u) {
+        return cache.get(t, u, () -> f.apply(t, u, this));
+      }
+    };
   }
 
   /** Recursive {@link BinaryOperator}. */
   public static <T> BinaryOperator<T> binaryOperator(RecursiveBinaryOperator<T> f) {
-    final Recursive<BinaryOperator<T>> r = new Recursive<>();
-    return r.f = (t, u) -> f.apply(t, u, r.f);
+    return new BinaryOperator<T>() {
+      @Override
+      public T apply(T t, T u) {
+        return f.apply(t, u, this);
+      }
+    };
   }
 
   /** Like {@link #binaryOperator}, but using memoization.
@@ -90,14 +112,22 @@ public class Recursive<F> {
    * @return recursive, cached BinaryOperator */
   public static <T> BinaryOperator<T> cachedBinaryOperator(RecursiveBinaryOperator<T> f,
       BiFunctionCache<T, T, T> cache) {
-    final Recursive<BinaryOperator<T>> r = new Recursive<>();
-    return r.f = (t, u) -> cache.get(t, u, () -> f.apply(t, u, r.f));
+    return new BinaryOperator<T>() {
+      @Override
+      public T apply(T t, T u) {
+        return cache.get(t, u, () -> f.apply(t, u, this));
+      }
+    };
   }
 
   /** Recursive {@link BiPredicate}. */
   public static <T, U> BiPredicate<T, U> biPredicate(RecursiveBiPredicate<T, U> f) {
-    final Recursive<BiPredicate<T, U>> r = new Recursive<>();
-    return r.f = (t, u) -> f.test(t, u, r.f);
+    return new BiPredicate<T, U>() {
+      @Override
+      public boolean test(T t, U u) {
+        return f.test(t, u, this);
+      }
+    };
   }
 
   /** Like {@link #biPredicate}, but using memoization.
@@ -124,14 +154,35 @@ public class Recursive<F> {
    * @return recursive, cached BiPredicate */
   public static <T, U> BiPredicate<T, U> cachedBiPredicate(RecursiveBiPredicate<T, U> f,
       BiFunctionCache<T, U, Boolean> cache) {
-    final Recursive<BiPredicate<T, U>> r = new Recursive<>();
-    return r.f = (t, u) -> cache.get(t, u, () -> f.test(t, u, r.f));
+    return new BiPredicate<T, U>() {
+      @Override
+      public boolean test(T t, U u) {
+        return cache.get(t, u, () -> f.test(t, u, this));
+      }
+    };
   }
 
   /** Recursive {@link DoubleBinaryOperator}. */
   public static DoubleBinaryOperator doubleBinaryOperator(RecursiveDoubleBinaryOperator f) {
-    final Recursive<DoubleBinaryOperator> r = new Recursive<>();
-    return r.f = (t, u) -> f.apply(t, u, r.f);
+    return new DoubleBinaryOperator() {
+      @Override
+      public double applyAsDouble(double t, double u) {
+        return f.apply(t, u, this);
+      }
+    };
+  }
+
+  /** Like {@link #doubleBinaryOperator}, but using memoization.
+   * <p>
+   * The cache is a hash table of primitive values. Keys are compared by their bits, so
+   * {@code 0.0} and {@code -0.0} are different keys, while all NaN values are the same key.
+   *
+   * @param f
+   *          The function
+   * @return recursive, cached DoubleBinaryOperator
+   * @see DoubleBinaryOperatorCache#create() */
+  public static DoubleBinaryOperator cachedDoubleBinaryOperator(RecursiveDoubleBinaryOperator f) {
+    return cachedDoubleBinaryOperator(f, DoubleBinaryOperatorCache.create());
   }
 
   /** Like {@link #doubleBinaryOperator}, but using memoization.
@@ -143,14 +194,22 @@ public class Recursive<F> {
    * @return recursive, cached DoubleBinaryOperator */
   public static DoubleBinaryOperator cachedDoubleBinaryOperator(RecursiveDoubleBinaryOperator f,
       DoubleBinaryOperatorCache cache) {
-    final Recursive<DoubleBinaryOperator> r = new Recursive<>();
-    return r.f = (left, right) -> cache.get(left, right, () -> f.apply(left, right, r.f));
+    return new DoubleBinaryOperator() {
+      @Override
+      public double applyAsDouble(double left, double right) {
+        return cache.get(left, right, () -> f.apply(left, right, this));
+      }
+    };
   }
 
   /** Recursive {@link DoubleFunction}. */
   public static <R> DoubleFunction<R> doubleFunction(RecursiveDoubleFunction<R> f) {
-    final Recursive<DoubleFunction<R>> r = new Recursive<>();
-    return r.f = d -> f.apply(d, r.f);
+    return new DoubleFunction<R>() {
+      @Override
+      public R apply(double d) {
+        return f.apply(d, this);
+      }
+    };
   }
 
   /** Like {@link #doubleFunction}, but using memoization.
@@ -165,14 +224,32 @@ public class Recursive<F> {
    * @return recursive, cached DoubleFunction */
   public static <R> DoubleFunction<R> cachedDoubleFunction(RecursiveDoubleFunction<R> f,
       DoubleFunctionCache<R> cache) {
-    final Recursive<DoubleFunction<R>> r = new Recursive<>();
-    return r.f = (d) -> cache.get(d, () -> f.apply(d, r.f));
+    return new DoubleFunction<R>() {
+      @Override
+      public R apply(double d) {
+        return cache.get(d, () -> f.apply(d, this));
+      }
+    };
   }
 
   /** Recursive {@link DoublePredicate}. */
   public static DoublePredicate doublePredicate(RecursiveDoublePredicate f) {
-    final Recursive<DoublePredicate> r = new Recursive<>();
-    return r.f = d -> f.test(d, r.f);
+    return new DoublePredicate() {
+      @Override
+      public boolean test(double d) {
+        return f.test(d, this);
+      }
+    };
+  }
+
+  /** Like {@link #doublePredicate}, but using memoization.
+   *
+   * @param f
+   *          The predicate
+   * @return recursive, cached DoublePredicate
+   * @see DoublePredicateCache#create() */
+  public static DoublePredicate cachedDoublePredicate(RecursiveDoublePredicate f) {
+    return cachedDoublePredicate(f, DoublePredicateCache.create());
   }
 
   /** Like {@link #doublePredicate}, but using memoization.
@@ -184,14 +261,22 @@ public class Recursive<F> {
    * @return recursive, cached DoublePredicate */
   public static DoublePredicate cachedDoublePredicate(RecursiveDoublePredicate f,
       DoublePredicateCache cache) {
-    final Recursive<DoublePredicate> r = new Recursive<>();
-    return r.f = (d) -> cache.get(d, () -> f.test(d, r.f));
+    return new DoublePredicate() {
+      @Override
+      public boolean test(double d) {
+        return cache.get(d, () -> f.test(d, this));
+      }
+    };
   }
 
   /** Recursive {@link DoubleToIntFunction}. */
   public static DoubleToIntFunction doubleToIntFunction(RecursiveDoubleToIntFunction f) {
-    final Recursive<DoubleToIntFunction> r = new Recursive<>();
-    return r.f = d -> f.apply(d, r.f);
+    return new DoubleToIntFunction() {
+      @Override
+      public int applyAsInt(double d) {
+        return f.apply(d, this);
+      }
+    };
   }
 
   /** Like {@link #doubleToIntFunction}, but using memoization.
@@ -203,14 +288,22 @@ public class Recursive<F> {
    * @return recursive, cached DoubleToIntFunction */
   public static DoubleToIntFunction cachedDoubleToIntFunction(RecursiveDoubleToIntFunction f,
       DoubleToIntFunctionCache cache) {
-    final Recursive<DoubleToIntFunction> r = new Recursive<>();
-    return r.f = (d) -> cache.get(d, () -> f.apply(d, r.f));
+    return new DoubleToIntFunction() {
+      @Override
+      public int applyAsInt(double d) {
+        return cache.get(d, () -> f.apply(d, this));
+      }
+    };
   }
 
   /** Recursive {@link DoubleToLongFunction}. */
   public static DoubleToLongFunction doubleToLongFunction(RecursiveDoubleToLongFunction f) {
-    final Recursive<DoubleToLongFunction> r = new Recursive<>();
-    return r.f = d -> f.apply(d, r.f);
+    return new DoubleToLongFunction() {
+      @Override
+      public long applyAsLong(double d) {
+        return f.apply(d, this);
+      }
+    };
   }
 
   /** Like {@link #doubleToLongFunction}, but using memoization.
@@ -222,14 +315,22 @@ public class Recursive<F> {
    * @return recursive, cached DoubleToLongFunction */
   public static DoubleToLongFunction cachedDoubleToLongFunction(RecursiveDoubleToLongFunction f,
       DoubleToLongFunctionCache cache) {
-    final Recursive<DoubleToLongFunction> r = new Recursive<>();
-    return r.f = (d) -> cache.get(d, () -> f.apply(d, r.f));
+    return new DoubleToLongFunction() {
+      @Override
+      public long applyAsLong(double d) {
+        return cache.get(d, () -> f.apply(d, this));
+      }
+    };
   }
 
   /** Recursive {@link DoubleUnaryOperator}. */
   public static DoubleUnaryOperator doubleUnaryOperator(RecursiveDoubleUnaryOperator f) {
-    final Recursive<DoubleUnaryOperator> r = new Recursive<>();
-    return r.f = d -> f.apply(d, r.f);
+    return new DoubleUnaryOperator() {
+      @Override
+      public double applyAsDouble(double d) {
+        return f.apply(d, this);
+      }
+    };
   }
 
   /** Like {@link #doubleToLongFunction}, but using memoization.
@@ -241,14 +342,22 @@ public class Recursive<F> {
    * @return recursive, cached DoubleUnaryOperator */
   public static DoubleUnaryOperator cachedDoubleUnaryOperator(RecursiveDoubleUnaryOperator f,
       DoubleUnaryOperatorCache cache) {
-    final Recursive<DoubleUnaryOperator> r = new Recursive<>();
-    return r.f = (d) -> cache.get(d, () -> f.apply(d, r.f));
+    return new DoubleUnaryOperator() {
+      @Override
+      public double applyAsDouble(double d) {
+        return cache.get(d, () -> f.apply(d, this));
+      }
+    };
   }
 
   /** Recursive {@link Function}. */
   public static <T, R> Function<T, R> function(BiFunction<T, Function<T, R>, R> f) {
-    final Recursive<Function<T, R>> r = new Recursive<>();
-    return r.f = t -> f.apply(t, r.f);
+    return new Function<T, R>() {
+      @Override
+      public R apply(T t) {
+        return f.apply(t, this);
+      }
+    };
   }
 
   /** Like {@link #function}, but using memoization.
@@ -275,14 +384,33 @@ public class Recursive<F> {
    * @return recursive, cached Function */
   public static <T, R> Function<T, R> cachedFunction(BiFunction<T, Function<T, R>, R> f,
       FunctionCache<T, R> cache) {
-    final Recursive<Function<T, R>> r = new Recursive<>();
-    return r.f = t -> cache.get(t, () -> f.apply(t, r.f));
+    return new Function<T, R>() {
+      @Override
+      public R apply(T t) {
+        return cache.get(t, () -> f.apply(t, this));
+      }
+    };
+  }
+
+  /** Like {@link #function}, but using memoization only during each call from outside of the
+   * recursion. The cache is taken from a thread local pool and returned when the call returns.
+   *
+   * @param f
+   *          The function
+   * @return recursive Function with a scoped cache
+   * @see FunctionCache#createScoped() */
+  public static <T, R> Function<T, R> scopedFunction(BiFunction<T, Function<T, R>, R> f) {
+    return cachedFunction(f, FunctionCache.createScoped());
   }
 
   /** Recursive {@link IntBinaryOperator}. */
   public static IntBinaryOperator intBinaryOperator(RecursiveIntBinaryOperator f) {
-    final Recursive<IntBinaryOperator> r = new Recursive<>();
-    return r.f = (left, right) -> f.apply(left, right, r.f);
+    return new IntBinaryOperator() {
+      @Override
+      public int applyAsInt(int left, int right) {
+        return f.apply(left, right, this);
+      }
+    };
   }
 
   /** Like {@link #intBinaryOperator}, but using memoization.
@@ -297,6 +425,21 @@ public class Recursive<F> {
     return cachedIntBinaryOperator(f, IntBinaryOperatorCache.create());
   }
 
+  /** Like {@link #intBinaryOperator}, but using memoization. The cache is one flat array.
+   *
+   * @param f
+   *          The function
+   * @param maxLeft
+   *          the greatest possible value of the left argument
+   * @param maxRight
+   *          the greatest possible value of the right argument
+   * @return recursive, cached IntBinaryOperator
+   * @see IntBinaryOperatorCache#create(int, int) */
+  public static IntBinaryOperator cachedIntBinaryOperator(RecursiveIntBinaryOperator f,
+      int maxLeft, int maxRight) {
+    return cachedIntBinaryOperator(f, IntBinaryOperatorCache.create(maxLeft, maxRight));
+  }
+
   /** Like {@link #intBinaryOperator}, but using memoization.
    *
    * @param f
@@ -306,14 +449,58 @@ public class Recursive<F> {
    * @return recursive, cached IntBinaryOperator */
   public static IntBinaryOperator cachedIntBinaryOperator(RecursiveIntBinaryOperator f,
       IntBinaryOperatorCache cache) {
-    final Recursive<IntBinaryOperator> r = new Recursive<>();
-    return r.f = (left, right) -> cache.get(left, right, () -> f.apply(left, right, r.f));
+    return new IntBinaryOperator() {
+      @Override
+      public int applyAsInt(int left, int right) {
+        return cache.get(left, right, () -> f.apply(left, right, this));
+      }
+    };
+  }
+
+  /** Calculates all values of the function in parallel, using a wavefront. The arguments are
+   * allowed from 0 to the given maximum (both inclusive). The value at {@code (i, j)} may only use
+   * values at {@code (i', j')} with {@code i' <= i} and {@code j' <= j}. Any other value is not yet
+   * calculated, and using it throws an {@link IllegalStateException}. Tiles of the table on the
+   * same anti-diagonal are calculated in parallel on the common {@link ForkJoinPool}.
+   *
+   * @param f
+   *          The function
+   * @param maxLeft
+   *          the greatest possible value of the left argument
+   * @param maxRight
+   *          the greatest possible value of the right argument
+   * @return lookup in the filled table */
+  public static IntBinaryOperator wavefrontIntBinaryOperator(RecursiveIntBinaryOperator f,
+      int maxLeft, int maxRight) {
+    return wavefrontIntBinaryOperator(f, maxLeft, maxRight, ForkJoinPool.commonPool());
+  }
+
+  /** Like {@link #wavefrontIntBinaryOperator(RecursiveIntBinaryOperator, int, int)}, but using the
+   * given pool. */
+  public static IntBinaryOperator wavefrontIntBinaryOperator(RecursiveIntBinaryOperator f,
+      int maxLeft, int maxRight, ForkJoinPool pool) {
+    return Wavefront.intTable(f, maxLeft, maxRight, pool);
   }
 
   /** Recursive {@link IntFunction}. */
   public static <R> IntFunction<R> intFunction(RecursiveIntFunction<R> f) {
-    final Recursive<IntFunction<R>> r = new Recursive<>();
-    return r.f = i -> f.apply(i, r.f);
+    return new IntFunction<R>() {
+      @Override
+      public R apply(int i) {
+        return f.apply(i, this);
+      }
+    };
+  }
+
+  /** Like {@link #intFunction}, but using memoization. The cache chooses its representation by
+   * the input values.
+   *
+   * @param f
+   *          The function
+   * @return recursive, cached IntFunction
+   * @see IntFunctionCache#createAdaptive() */
+  public static <R> IntFunction<R> cachedIntFunction(RecursiveIntFunction<R> f) {
+    return cachedIntFunction(f, IntFunctionCache.<R> createAdaptive());
   }
 
   /** Like {@link #intFunction}, but using memoization.
@@ -339,14 +526,937 @@ public class Recursive<F> {
    * @return recursive, cached IntUnaryOperator */
   public static <R> IntFunction<R> cachedIntFunction(RecursiveIntFunction<R> f,
       IntFunctionCache<R> cache) {
-    final Recursive<IntFunction<R>> r = new Recursive<>();
-    return r.f = i -> cache.get(i, () -> f.apply(i, r.f));
+    return new IntFunction<R>() {
+      @Override
+      public R apply(int i) {
+        return cache.get(i, () -> f.apply(i, this));
+      }
+    };
+  }
+
+  /** Recursive {@link Int3Operator}. */
+  public static Int3Operator int3Operator(RecursiveInt3Operator f) {
+    return new Int3Operator() {
+      @Override
+      public int applyAsInt(int a, int b, int c) {
+        return f.apply(a, b, c, this);
+      }
+    };
+  }
+
+  /** Like {@link #int3Operator}, but using memoization. The cache is one flat array.
+   *
+   * @param f
+   *          The function
+   * @param max1
+   *          the greatest possible value of argument 1
+   * @param max2
+   *          the greatest possible value of argument 2
+   * @param max3
+   *          the greatest possible value of argument 3
+   * @return recursive, cached Int3Operator
+   * @see Int3OperatorCache#create(int, int, int) */
+  public static Int3Operator cachedInt3Operator(RecursiveInt3Operator f, int max1, int max2,
+      int max3) {
+    return cachedInt3Operator(f, Int3OperatorCache.create(max1, max2, max3));
+  }
+
+  /** Like {@link #int3Operator}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached Int3Operator */
+  public static Int3Operator cachedInt3Operator(RecursiveInt3Operator f, Int3OperatorCache cache) {
+    return new Int3Operator() {
+      @Override
+      public int applyAsInt(int a, int b, int c) {
+        return cache.get(a, b, c, () -> f.apply(a, b, c, this));
+      }
+    };
+  }
+
+  /** Recursive {@link Int3ToLongFunction}. */
+  public static Int3ToLongFunction int3ToLongFunction(RecursiveInt3ToLongFunction f) {
+    return new Int3ToLongFunction() {
+      @Override
+      public long applyAsLong(int a, int b, int c) {
+        return f.apply(a, b, c, this);
+      }
+    };
+  }
+
+  /** Like {@link #int3ToLongFunction}, but using memoization. The cache is one flat array.
+   *
+   * @param f
+   *          The function
+   * @param max1
+   *          the greatest possible value of argument 1
+   * @param max2
+   *          the greatest possible value of argument 2
+   * @param max3
+   *          the greatest possible value of argument 3
+   * @return recursive, cached Int3ToLongFunction
+   * @see Int3ToLongFunctionCache#create(int, int, int) */
+  public static Int3ToLongFunction cachedInt3ToLongFunction(RecursiveInt3ToLongFunction f,
+      int max1, int max2, int max3) {
+    return cachedInt3ToLongFunction(f, Int3ToLongFunctionCache.create(max1, max2, max3));
+  }
+
+  /** Like {@link #int3ToLongFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached Int3ToLongFunction */
+  public static Int3ToLongFunction cachedInt3ToLongFunction(RecursiveInt3ToLongFunction f,
+      Int3ToLongFunctionCache cache) {
+    return new Int3ToLongFunction() {
+      @Override
+      public long applyAsLong(int a, int b, int c) {
+        return cache.get(a, b, c, () -> f.apply(a, b, c, this));
+      }
+    };
+  }
+
+  /** Recursive {@link Int3ToDoubleFunction}. */
+  public static Int3ToDoubleFunction int3ToDoubleFunction(RecursiveInt3ToDoubleFunction f) {
+    return new Int3ToDoubleFunction() {
+      @Override
+      public double applyAsDouble(int a, int b, int c) {
+        return f.apply(a, b, c, this);
+      }
+    };
+  }
+
+  /** Like {@link #int3ToDoubleFunction}, but using memoization. The cache is one flat array.
+   *
+   * @param f
+   *          The function
+   * @param max1
+   *          the greatest possible value of argument 1
+   * @param max2
+   *          the greatest possible value of argument 2
+   * @param max3
+   *          the greatest possible value of argument 3
+   * @return recursive, cached Int3ToDoubleFunction
+   * @see Int3ToDoubleFunctionCache#create(int, int, int) */
+  public static Int3ToDoubleFunction cachedInt3ToDoubleFunction(RecursiveInt3ToDoubleFunction f,
+      int max1, int max2, int max3) {
+    return cachedInt3ToDoubleFunction(f, Int3ToDoubleFunctionCache.create(max1, max2, max3));
+  }
+
+  /** Like {@link #int3ToDoubleFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached Int3ToDoubleFunction */
+  public static Int3ToDoubleFunction cachedInt3ToDoubleFunction(RecursiveInt3ToDoubleFunction f,
+      Int3ToDoubleFunctionCache cache) {
+    return new Int3ToDoubleFunction() {
+      @Override
+      public double applyAsDouble(int a, int b, int c) {
+        return cache.get(a, b, c, () -> f.apply(a, b, c, this));
+      }
+    };
+  }
+
+  /** Recursive {@link Int3Function}. */
+  public static <R> Int3Function<R> int3Function(RecursiveInt3Function<R> f) {
+    return new Int3Function<R>() {
+      @Override
+      public R apply(int a, int b, int c) {
+        return f.apply(a, b, c, this);
+      }
+    };
+  }
+
+  /** Like {@link #int3Function}, but using memoization. The cache is one flat array.
+   *
+   * @param f
+   *          The function
+   * @param max1
+   *          the greatest possible value of argument 1
+   * @param max2
+   *          the greatest possible value of argument 2
+   * @param max3
+   *          the greatest possible value of argument 3
+   * @return recursive, cached Int3Function
+   * @see Int3FunctionCache#create(int, int, int) */
+  public static <R> Int3Function<R> cachedInt3Function(RecursiveInt3Function<R> f, int max1,
+      int max2, int max3) {
+    return cachedInt3Function(f, Int3FunctionCache.<R> create(max1, max2, max3));
+  }
+
+  /** Like {@link #int3Function}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached Int3Function */
+  public static <R> Int3Function<R> cachedInt3Function(RecursiveInt3Function<R> f,
+      Int3FunctionCache<R> cache) {
+    return new Int3Function<R>() {
+      @Override
+      public R apply(int a, int b, int c) {
+        return cache.get(a, b, c, () -> f.apply(a, b, c, this));
+      }
+    };
+  }
+
+  /** Recursive {@link Int4Operator}. */
+  public static Int4Operator int4Operator(RecursiveInt4Operator f) {
+    return new Int4Operator() {
+      @Override
+      public int applyAsInt(int a, int b, int c, int d) {
+        return f.apply(a, b, c, d, this);
+      }
+    };
+  }
+
+  /** Like {@link #int4Operator}, but using memoization. The cache is one flat array.
+   *
+   * @param f
+   *          The function
+   * @param max1
+   *          the greatest possible value of argument 1
+   * @param max2
+   *          the greatest possible value of argument 2
+   * @param max3
+   *          the greatest possible value of argument 3
+   * @param max4
+   *          the greatest possible value of argument 4
+   * @return recursive, cached Int4Operator
+   * @see Int4OperatorCache#create(int, int, int, int) */
+  public static Int4Operator cachedInt4Operator(RecursiveInt4Operator f, int max1, int max2,
+      int max3, int max4) {
+    return cachedInt4Operator(f, Int4OperatorCache.create(max1, max2, max3, max4));
+  }
+
+  /** Like {@link #int4Operator}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached Int4Operator */
+  public static Int4Operator cachedInt4Operator(RecursiveInt4Operator f, Int4OperatorCache cache) {
+    return new Int4Operator() {
+      @Override
+      public int applyAsInt(int a, int b, int c, int d) {
+        return cache.get(a, b, c, d, () -> f.apply(a, b, c, d, this));
+      }
+    };
+  }
+
+  /** Recursive {@link Int4ToLongFunction}. */
+  public static Int4ToLongFunction int4ToLongFunction(RecursiveInt4ToLongFunction f) {
+    return new Int4ToLongFunction() {
+      @Override
+      public long applyAsLong(int a, int b, int c, int d) {
+        return f.apply(a, b, c, d, this);
+      }
+    };
+  }
+
+  /** Like {@link #int4ToLongFunction}, but using memoization. The cache is one flat array.
+   *
+   * @param f
+   *          The function
+   * @param max1
+   *          the greatest possible value of argument 1
+   * @param max2
+   *          the greatest possible value of argument 2
+   * @param max3
+   *          the greatest possible value of argument 3
+   * @param max4
+   *          the greatest possible value of argument 4
+   * @return recursive, cached Int4ToLongFunction
+   * @see Int4ToLongFunctionCache#create(int, int, int, int) */
+  public static Int4ToLongFunction cachedInt4ToLongFunction(RecursiveInt4ToLongFunction f,
+      int max1, int max2, int max3, int max4) {
+    return cachedInt4ToLongFunction(f, Int4ToLongFunctionCache.create(max1, max2, max3, max4));
+  }
+
+  /** Like {@link #int4ToLongFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached Int4ToLongFunction */
+  public static Int4ToLongFunction cachedInt4ToLongFunction(RecursiveInt4ToLongFunction f,
+      Int4ToLongFunctionCache cache) {
+    return new Int4ToLongFunction() {
+      @Override
+      public long applyAsLong(int a, int b, int c, int d) {
+        return cache.get(a, b, c, d, () -> f.apply(a, b, c, d, this));
+      }
+    };
+  }
+
+  /** Recursive {@link Int4ToDoubleFunction}. */
+  public static Int4ToDoubleFunction int4ToDoubleFunction(RecursiveInt4ToDoubleFunction f) {
+    return new Int4ToDoubleFunction() {
+      @Override
+      public double applyAsDouble(int a, int b, int c, int d) {
+        return f.apply(a, b, c, d, this);
+      }
+    };
+  }
+
+  /** Like {@link #int4ToDoubleFunction}, but using memoization. The cache is one flat array.
+   *
+   * @param f
+   *          The function
+   * @param max1
+   *          the greatest possible value of argument 1
+   * @param max2
+   *          the greatest possible value of argument 2
+   * @param max3
+   *          the greatest possible value of argument 3
+   * @param max4
+   *          the greatest possible value of argument 4
+   * @return recursive, cached Int4ToDoubleFunction
+   * @see Int4ToDoubleFunctionCache#create(int, int, int, int) */
+  public static Int4ToDoubleFunction cachedInt4ToDoubleFunction(RecursiveInt4ToDoubleFunction f,
+      int max1, int max2, int max3, int max4) {
+    return cachedInt4ToDoubleFunction(f, Int4ToDoubleFunctionCache.create(max1, max2, max3, max4));
+  }
+
+  /** Like {@link #int4ToDoubleFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached Int4ToDoubleFunction */
+  public static Int4ToDoubleFunction cachedInt4ToDoubleFunction(RecursiveInt4ToDoubleFunction f,
+      Int4ToDoubleFunctionCache cache) {
+    return new Int4ToDoubleFunction() {
+      @Override
+      public double applyAsDouble(int a, int b, int c, int d) {
+        return cache.get(a, b, c, d, () -> f.apply(a, b, c, d, this));
+      }
+    };
+  }
+
+  /** Recursive {@link Int4Function}. */
+  public static <R> Int4Function<R> int4Function(RecursiveInt4Function<R> f) {
+    return new Int4Function<R>() {
+      @Override
+      public R apply(int a, int b, int c, int d) {
+        return f.apply(a, b, c, d, this);
+      }
+    };
+  }
+
+  /** Like {@link #int4Function}, but using memoization. The cache is one flat array.
+   *
+   * @param f
+   *          The function
+   * @param max1
+   *          the greatest possible value of argument 1
+   * @param max2
+   *          the greatest possible value of argument 2
+   * @param max3
+   *          the greatest possible value of argument 3
+   * @param max4
+   *          the greatest possible value of argument 4
+   * @return recursive, cached Int4Function
+   * @see Int4FunctionCache#create(int, int, int, int) */
+  public static <R> Int4Function<R> cachedInt4Function(RecursiveInt4Function<R> f, int max1,
+      int max2, int max3, int max4) {
+    return cachedInt4Function(f, Int4FunctionCache.<R> create(max1, max2, max3, max4));
+  }
+
+  /** Like {@link #int4Function}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached Int4Function */
+  public static <R> Int4Function<R> cachedInt4Function(RecursiveInt4Function<R> f,
+      Int4FunctionCache<R> cache) {
+    return new Int4Function<R>() {
+      @Override
+      public R apply(int a, int b, int c, int d) {
+        return cache.get(a, b, c, d, () -> f.apply(a, b, c, d, this));
+      }
+    };
+  }
+
+  /** Recursive {@link IntIntToLongFunction}. */
+  public static IntIntToLongFunction intIntToLongFunction(RecursiveIntIntToLongFunction f) {
+    return new IntIntToLongFunction() {
+      @Override
+      public long applyAsLong(int left, int right) {
+        return f.apply(left, right, this);
+      }
+    };
+  }
+
+  /** Like {@link #intIntToLongFunction}, but using memoization. The cache is a hash table of
+   * primitive keys and values.
+   *
+   * @param f
+   *          The function
+   * @return recursive, cached IntIntToLongFunction
+   * @see IntIntToLongFunctionCache#create() */
+  public static IntIntToLongFunction cachedIntIntToLongFunction(RecursiveIntIntToLongFunction f) {
+    return cachedIntIntToLongFunction(f, IntIntToLongFunctionCache.create());
+  }
+
+  /** Like {@link #intIntToLongFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached IntIntToLongFunction */
+  public static IntIntToLongFunction cachedIntIntToLongFunction(RecursiveIntIntToLongFunction f,
+      IntIntToLongFunctionCache cache) {
+    return new IntIntToLongFunction() {
+      @Override
+      public long applyAsLong(int left, int right) {
+        return cache.get(left, right, () -> f.apply(left, right, this));
+      }
+    };
+  }
+
+  /** Recursive {@link IntIntToDoubleFunction}. */
+  public static IntIntToDoubleFunction intIntToDoubleFunction(RecursiveIntIntToDoubleFunction f) {
+    return new IntIntToDoubleFunction() {
+      @Override
+      public double applyAsDouble(int left, int right) {
+        return f.apply(left, right, this);
+      }
+    };
+  }
+
+  /** Like {@link #intIntToDoubleFunction}, but using memoization. The cache is a hash table of
+   * primitive keys and values.
+   *
+   * @param f
+   *          The function
+   * @return recursive, cached IntIntToDoubleFunction
+   * @see IntIntToDoubleFunctionCache#create() */
+  public static IntIntToDoubleFunction cachedIntIntToDoubleFunction(
+      RecursiveIntIntToDoubleFunction f) {
+    return cachedIntIntToDoubleFunction(f, IntIntToDoubleFunctionCache.create());
+  }
+
+  /** Like {@link #intIntToDoubleFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached IntIntToDoubleFunction */
+  public static IntIntToDoubleFunction cachedIntIntToDoubleFunction(
+      RecursiveIntIntToDoubleFunction f, IntIntToDoubleFunctionCache cache) {
+    return new IntIntToDoubleFunction() {
+      @Override
+      public double applyAsDouble(int left, int right) {
+        return cache.get(left, right, () -> f.apply(left, right, this));
+      }
+    };
+  }
+
+  /** Recursive {@link IntIntFunction}. */
+  public static <R> IntIntFunction<R> intIntFunction(RecursiveIntIntFunction<R> f) {
+    return new IntIntFunction<R>() {
+      @Override
+      public R apply(int left, int right) {
+        return f.apply(left, right, this);
+      }
+    };
+  }
+
+  /** Like {@link #intIntFunction}, but using memoization. The cache is a hash table of primitive
+   * keys.
+   *
+   * @param f
+   *          The function
+   * @return recursive, cached IntIntFunction
+   * @see IntIntFunctionCache#create() */
+  public static <R> IntIntFunction<R> cachedIntIntFunction(RecursiveIntIntFunction<R> f) {
+    return cachedIntIntFunction(f, IntIntFunctionCache.<R> create());
+  }
+
+  /** Like {@link #intIntFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached IntIntFunction */
+  public static <R> IntIntFunction<R> cachedIntIntFunction(RecursiveIntIntFunction<R> f,
+      IntIntFunctionCache<R> cache) {
+    return new IntIntFunction<R>() {
+      @Override
+      public R apply(int left, int right) {
+        return cache.get(left, right, () -> f.apply(left, right, this));
+      }
+    };
+  }
+
+  /** Recursive {@link IntLongToIntFunction}. */
+  public static IntLongToIntFunction intLongToIntFunction(RecursiveIntLongToIntFunction f) {
+    return new IntLongToIntFunction() {
+      @Override
+      public int applyAsInt(int left, long right) {
+        return f.apply(left, right, this);
+      }
+    };
+  }
+
+  /** Like {@link #intLongToIntFunction}, but using memoization. The cache is a hash table of
+   * primitive keys and values.
+   *
+   * @param f
+   *          The function
+   * @return recursive, cached IntLongToIntFunction
+   * @see IntLongToIntFunctionCache#create() */
+  public static IntLongToIntFunction cachedIntLongToIntFunction(RecursiveIntLongToIntFunction f) {
+    return cachedIntLongToIntFunction(f, IntLongToIntFunctionCache.create());
+  }
+
+  /** Like {@link #intLongToIntFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached IntLongToIntFunction */
+  public static IntLongToIntFunction cachedIntLongToIntFunction(RecursiveIntLongToIntFunction f,
+      IntLongToIntFunctionCache cache) {
+    return new IntLongToIntFunction() {
+      @Override
+      public int applyAsInt(int left, long right) {
+        return cache.get(left, right, () -> f.apply(left, right, this));
+      }
+    };
+  }
+
+  /** Recursive {@link IntLongToLongFunction}. */
+  public static IntLongToLongFunction intLongToLongFunction(RecursiveIntLongToLongFunction f) {
+    return new IntLongToLongFunction() {
+      @Override
+      public long applyAsLong(int left, long right) {
+        return f.apply(left, right, this);
+      }
+    };
+  }
+
+  /** Like {@link #intLongToLongFunction}, but using memoization. The cache is a hash table of
+   * primitive keys and values.
+   *
+   * @param f
+   *          The function
+   * @return recursive, cached IntLongToLongFunction
+   * @see IntLongToLongFunctionCache#create() */
+  public static IntLongToLongFunction cachedIntLongToLongFunction(
+      RecursiveIntLongToLongFunction f) {
+    return cachedIntLongToLongFunction(f, IntLongToLongFunctionCache.create());
+  }
+
+  /** Like {@link #intLongToLongFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached IntLongToLongFunction */
+  public static IntLongToLongFunction cachedIntLongToLongFunction(RecursiveIntLongToLongFunction f,
+      IntLongToLongFunctionCache cache) {
+    return new IntLongToLongFunction() {
+      @Override
+      public long applyAsLong(int left, long right) {
+        return cache.get(left, right, () -> f.apply(left, right, this));
+      }
+    };
+  }
+
+  /** Recursive {@link IntLongToDoubleFunction}. */
+  public static IntLongToDoubleFunction intLongToDoubleFunction(
+      RecursiveIntLongToDoubleFunction f) {
+    return new IntLongToDoubleFunction() {
+      @Override
+      public double applyAsDouble(int left, long right) {
+        return f.apply(left, right, this);
+      }
+    };
+  }
+
+  /** Like {@link #intLongToDoubleFunction}, but using memoization. The cache is a hash table of
+   * primitive keys and values.
+   *
+   * @param f
+   *          The function
+   * @return recursive, cached IntLongToDoubleFunction
+   * @see IntLongToDoubleFunctionCache#create() */
+  public static IntLongToDoubleFunction cachedIntLongToDoubleFunction(
+      RecursiveIntLongToDoubleFunction f) {
+    return cachedIntLongToDoubleFunction(f, IntLongToDoubleFunctionCache.create());
+  }
+
+  /** Like {@link #intLongToDoubleFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached IntLongToDoubleFunction */
+  public static IntLongToDoubleFunction cachedIntLongToDoubleFunction(
+      RecursiveIntLongToDoubleFunction f, IntLongToDoubleFunctionCache cache) {
+    return new IntLongToDoubleFunction() {
+      @Override
+      public double applyAsDouble(int left, long right) {
+        return cache.get(left, right, () -> f.apply(left, right, this));
+      }
+    };
+  }
+
+  /** Recursive {@link IntLongFunction}. */
+  public static <R> IntLongFunction<R> intLongFunction(RecursiveIntLongFunction<R> f) {
+    return new IntLongFunction<R>() {
+      @Override
+      public R apply(int left, long right) {
+        return f.apply(left, right, this);
+      }
+    };
+  }
+
+  /** Like {@link #intLongFunction}, but using memoization. The cache is a hash table of primitive
+   * keys.
+   *
+   * @param f
+   *          The function
+   * @return recursive, cached IntLongFunction
+   * @see IntLongFunctionCache#create() */
+  public static <R> IntLongFunction<R> cachedIntLongFunction(RecursiveIntLongFunction<R> f) {
+    return cachedIntLongFunction(f, IntLongFunctionCache.<R> create());
+  }
+
+  /** Like {@link #intLongFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached IntLongFunction */
+  public static <R> IntLongFunction<R> cachedIntLongFunction(RecursiveIntLongFunction<R> f,
+      IntLongFunctionCache<R> cache) {
+    return new IntLongFunction<R>() {
+      @Override
+      public R apply(int left, long right) {
+        return cache.get(left, right, () -> f.apply(left, right, this));
+      }
+    };
+  }
+
+  /** Recursive {@link LongIntToIntFunction}. */
+  public static LongIntToIntFunction longIntToIntFunction(RecursiveLongIntToIntFunction f) {
+    return new LongIntToIntFunction() {
+      @Override
+      public int applyAsInt(long left, int right) {
+        return f.apply(left, right, this);
+      }
+    };
+  }
+
+  /** Like {@link #longIntToIntFunction}, but using memoization. The cache is a hash table of
+   * primitive keys and values.
+   *
+   * @param f
+   *          The function
+   * @return recursive, cached LongIntToIntFunction
+   * @see LongIntToIntFunctionCache#create() */
+  public static LongIntToIntFunction cachedLongIntToIntFunction(RecursiveLongIntToIntFunction f) {
+    return cachedLongIntToIntFunction(f, LongIntToIntFunctionCache.create());
+  }
+
+  /** Like {@link #longIntToIntFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached LongIntToIntFunction */
+  public static LongIntToIntFunction cachedLongIntToIntFunction(RecursiveLongIntToIntFunction f,
+      LongIntToIntFunctionCache cache) {
+    return new LongIntToIntFunction() {
+      @Override
+      public int applyAsInt(long left, int right) {
+        return cache.get(left, right, () -> f.apply(left, right, this));
+      }
+    };
+  }
+
+  /** Recursive {@link LongIntToLongFunction}. */
+  public static LongIntToLongFunction longIntToLongFunction(RecursiveLongIntToLongFunction f) {
+    return new LongIntToLongFunction() {
+      @Override
+      public long applyAsLong(long left, int right) {
+        return f.apply(left, right, this);
+      }
+    };
+  }
+
+  /** Like {@link #longIntToLongFunction}, but using memoization. The cache is a hash table of
+   * primitive keys and values.
+   *
+   * @param f
+   *          The function
+   * @return recursive, cached LongIntToLongFunction
+   * @see LongIntToLongFunctionCache#create() */
+  public static LongIntToLongFunction cachedLongIntToLongFunction(
+      RecursiveLongIntToLongFunction f) {
+    return cachedLongIntToLongFunction(f, LongIntToLongFunctionCache.create());
+  }
+
+  /** Like {@link #longIntToLongFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached LongIntToLongFunction */
+  public static LongIntToLongFunction cachedLongIntToLongFunction(RecursiveLongIntToLongFunction f,
+      LongIntToLongFunctionCache cache) {
+    return new LongIntToLongFunction() {
+      @Override
+      public long applyAsLong(long left, int right) {
+        return cache.get(left, right, () -> f.apply(left, right, this));
+      }
+    };
+  }
+
+  /** Recursive {@link LongIntToDoubleFunction}. */
+  public static LongIntToDoubleFunction longIntToDoubleFunction(
+      RecursiveLongIntToDoubleFunction f) {
+    return new LongIntToDoubleFunction() {
+      @Override
+      public double applyAsDouble(long left, int right) {
+        return f.apply(left, right, this);
+      }
+    };
+  }
+
+  /** Like {@link #longIntToDoubleFunction}, but using memoization. The cache is a hash table of
+   * primitive keys and values.
+   *
+   * @param f
+   *          The function
+   * @return recursive, cached LongIntToDoubleFunction
+   * @see LongIntToDoubleFunctionCache#create() */
+  public static LongIntToDoubleFunction cachedLongIntToDoubleFunction(
+      RecursiveLongIntToDoubleFunction f) {
+    return cachedLongIntToDoubleFunction(f, LongIntToDoubleFunctionCache.create());
+  }
+
+  /** Like {@link #longIntToDoubleFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached LongIntToDoubleFunction */
+  public static LongIntToDoubleFunction cachedLongIntToDoubleFunction(
+      RecursiveLongIntToDoubleFunction f, LongIntToDoubleFunctionCache cache) {
+    return new LongIntToDoubleFunction() {
+      @Override
+      public double applyAsDouble(long left, int right) {
+        return cache.get(left, right, () -> f.apply(left, right, this));
+      }
+    };
+  }
+
+  /** Recursive {@link LongIntFunction}. */
+  public static <R> LongIntFunction<R> longIntFunction(RecursiveLongIntFunction<R> f) {
+    return new LongIntFunction<R>() {
+      @Override
+      public R apply(long left, int right) {
+        return f.apply(left, right, this);
+      }
+    };
+  }
+
+  /** Like {@link #longIntFunction}, but using memoization. The cache is a hash table of primitive
+   * keys.
+   *
+   * @param f
+   *          The function
+   * @return recursive, cached LongIntFunction
+   * @see LongIntFunctionCache#create() */
+  public static <R> LongIntFunction<R> cachedLongIntFunction(RecursiveLongIntFunction<R> f) {
+    return cachedLongIntFunction(f, LongIntFunctionCache.<R> create());
+  }
+
+  /** Like {@link #longIntFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached LongIntFunction */
+  public static <R> LongIntFunction<R> cachedLongIntFunction(RecursiveLongIntFunction<R> f,
+      LongIntFunctionCache<R> cache) {
+    return new LongIntFunction<R>() {
+      @Override
+      public R apply(long left, int right) {
+        return cache.get(left, right, () -> f.apply(left, right, this));
+      }
+    };
+  }
+
+  /** Recursive {@link LongLongToIntFunction}. */
+  public static LongLongToIntFunction longLongToIntFunction(RecursiveLongLongToIntFunction f) {
+    return new LongLongToIntFunction() {
+      @Override
+      public int applyAsInt(long left, long right) {
+        return f.apply(left, right, this);
+      }
+    };
+  }
+
+  /** Like {@link #longLongToIntFunction}, but using memoization. The cache is a hash table of
+   * primitive keys and values.
+   *
+   * @param f
+   *          The function
+   * @return recursive, cached LongLongToIntFunction
+   * @see LongLongToIntFunctionCache#create() */
+  public static LongLongToIntFunction cachedLongLongToIntFunction(
+      RecursiveLongLongToIntFunction f) {
+    return cachedLongLongToIntFunction(f, LongLongToIntFunctionCache.create());
+  }
+
+  /** Like {@link #longLongToIntFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached LongLongToIntFunction */
+  public static LongLongToIntFunction cachedLongLongToIntFunction(RecursiveLongLongToIntFunction f,
+      LongLongToIntFunctionCache cache) {
+    return new LongLongToIntFunction() {
+      @Override
+      public int applyAsInt(long left, long right) {
+        return cache.get(left, right, () -> f.apply(left, right, this));
+      }
+    };
+  }
+
+  /** Recursive {@link LongLongToDoubleFunction}. */
+  public static LongLongToDoubleFunction longLongToDoubleFunction(
+      RecursiveLongLongToDoubleFunction f) {
+    return new LongLongToDoubleFunction() {
+      @Override
+      public double applyAsDouble(long left, long right) {
+        return f.apply(left, right, this);
+      }
+    };
+  }
+
+  /** Like {@link #longLongToDoubleFunction}, but using memoization. The cache is a hash table of
+   * primitive keys and values.
+   *
+   * @param f
+   *          The function
+   * @return recursive, cached LongLongToDoubleFunction
+   * @see LongLongToDoubleFunctionCache#create() */
+  public static LongLongToDoubleFunction cachedLongLongToDoubleFunction(
+      RecursiveLongLongToDoubleFunction f) {
+    return cachedLongLongToDoubleFunction(f, LongLongToDoubleFunctionCache.create());
+  }
+
+  /** Like {@link #longLongToDoubleFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached LongLongToDoubleFunction */
+  public static LongLongToDoubleFunction cachedLongLongToDoubleFunction(
+      RecursiveLongLongToDoubleFunction f, LongLongToDoubleFunctionCache cache) {
+    return new LongLongToDoubleFunction() {
+      @Override
+      public double applyAsDouble(long left, long right) {
+        return cache.get(left, right, () -> f.apply(left, right, this));
+      }
+    };
+  }
+
+  /** Recursive {@link LongLongFunction}. */
+  public static <R> LongLongFunction<R> longLongFunction(RecursiveLongLongFunction<R> f) {
+    return new LongLongFunction<R>() {
+      @Override
+      public R apply(long left, long right) {
+        return f.apply(left, right, this);
+      }
+    };
+  }
+
+  /** Like {@link #longLongFunction}, but using memoization. The cache is a hash table of primitive
+   * keys.
+   *
+   * @param f
+   *          The function
+   * @return recursive, cached LongLongFunction
+   * @see LongLongFunctionCache#create() */
+  public static <R> LongLongFunction<R> cachedLongLongFunction(RecursiveLongLongFunction<R> f) {
+    return cachedLongLongFunction(f, LongLongFunctionCache.<R> create());
+  }
+
+  /** Like {@link #longLongFunction}, but using memoization.
+   *
+   * @param f
+   *          The function
+   * @param cache
+   *          The cache for memoization
+   * @return recursive, cached LongLongFunction */
+  public static <R> LongLongFunction<R> cachedLongLongFunction(RecursiveLongLongFunction<R> f,
+      LongLongFunctionCache<R> cache) {
+    return new LongLongFunction<R>() {
+      @Override
+      public R apply(long left, long right) {
+        return cache.get(left, right, () -> f.apply(left, right, this));
+      }
+    };
+  }
+
+  /** Like {@link #intFunction}, but using memoization only during each call from outside of the
+   * recursion.
+   *
+   * @param f
+   *          The function
+   * @param min
+   *          the smallest possible input value
+   * @param max
+   *          the greatest possible input value
+   * @return recursive IntFunction with a scoped cache
+   * @see IntFunctionCache#createScoped(int, int) */
+  public static <R> IntFunction<R> scopedIntFunction(RecursiveIntFunction<R> f, int min, int max) {
+    return cachedIntFunction(f, IntFunctionCache.<R> createScoped(min, max));
   }
 
   /** Recursive {@link IntPredicate}. */
   public static IntPredicate intPredicate(RecursiveIntPredicate f) {
-    final Recursive<IntPredicate> r = new Recursive<>();
-    return r.f = i -> f.test(i, r.f);
+    return new IntPredicate() {
+      @Override
+      public boolean test(int i) {
+        return f.test(i, this);
+      }
+    };
   }
 
   /** Like {@link #intPredicate}, but using memoization.
@@ -367,14 +1477,22 @@ public class Recursive<F> {
    *          The cache for memoization.
    * @return recursive, cached IntUnaryOperator */
   public static IntPredicate cachedIntPredicate(RecursiveIntPredicate f, IntPredicateCache cache) {
-    final Recursive<IntPredicate> r = new Recursive<>();
-    return r.f = i -> cache.get(i, () -> f.test(i, r.f));
+    return new IntPredicate() {
+      @Override
+      public boolean test(int i) {
+        return cache.get(i, () -> f.test(i, this));
+      }
+    };
   }
 
   /** Recursive {@link IntToDoubleFunction}. */
   public static IntToDoubleFunction intToDoubleFunction(RecursiveIntToDoubleFunction f) {
-    final Recursive<IntToDoubleFunction> r = new Recursive<>();
-    return r.f = d -> f.apply(d, r.f);
+    return new IntToDoubleFunction() {
+      @Override
+      public double applyAsDouble(int d) {
+        return f.apply(d, this);
+      }
+    };
   }
 
   /** Like {@link #intToDoubleFunction}, but using memoization.
@@ -400,14 +1518,22 @@ public class Recursive<F> {
    * @return recursive, cached IntToDoubleFunction */
   public static IntToDoubleFunction cachedIntToDoubleFunction(RecursiveIntToDoubleFunction f,
       IntToDoubleFunctionCache cache) {
-    final Recursive<IntToDoubleFunction> r = new Recursive<>();
-    return r.f = v -> cache.get(v, () -> f.apply(v, r.f));
+    return new IntToDoubleFunction() {
+      @Override
+      public double applyAsDouble(int v) {
+        return cache.get(v, () -> f.apply(v, this));
+      }
+    };
   }
 
   /** Recursive {@link IntToLongFunction}. */
   public static IntToLongFunction intToLongFunction(RecursiveIntToLongFunction f) {
-    final Recursive<IntToLongFunction> r = new Recursive<>();
-    return r.f = d -> f.apply(d, r.f);
+    return new IntToLongFunction() {
+      @Override
+      public long applyAsLong(int d) {
+        return f.apply(d, this);
+      }
+    };
   }
 
   /** Like {@link #intToLongFunction}, but using memoization.
@@ -433,14 +1559,38 @@ public class Recursive<F> {
    * @return recursive, cached IntToLongFunction */
   public static IntToLongFunction cachedIntToLongFunction(RecursiveIntToLongFunction f,
       IntToLongFunctionCache cache) {
-    final Recursive<IntToLongFunction> r = new Recursive<>();
-    return r.f = v -> cache.get(v, () -> f.apply(v, r.f));
+    return new IntToLongFunction() {
+      @Override
+      public long applyAsLong(int v) {
+        return cache.get(v, () -> f.apply(v, this));
+      }
+    };
+  }
+
+  /** Like {@link #intToLongFunction}, but using memoization only during each call from outside of
+   * the recursion.
+   *
+   * @param f
+   *          The function
+   * @param min
+   *          the smallest possible input value
+   * @param max
+   *          the greatest possible input value
+   * @return recursive IntToLongFunction with a scoped cache
+   * @see IntToLongFunctionCache#createScoped(int, int) */
+  public static IntToLongFunction scopedIntToLongFunction(RecursiveIntToLongFunction f, int min,
+      int max) {
+    return cachedIntToLongFunction(f, IntToLongFunctionCache.createScoped(min, max));
   }
 
   /** Recursive {@link IntUnaryOperator}. */
   public static IntUnaryOperator intUnaryOperator(RecursiveIntUnaryOperator f) {
-    final Recursive<IntUnaryOperator> r = new Recursive<>();
-    return r.f = i -> f.apply(i, r.f);
+    return new IntUnaryOperator() {
+      @Override
+      public int applyAsInt(int i) {
+        return f.apply(i, this);
+      }
+    };
   }
 
   /** Like {@link #intUnaryOperator}, but using memoization.
@@ -466,14 +1616,33 @@ public class Recursive<F> {
    * @return recursive, cached IntUnaryOperator */
   public static IntUnaryOperator cachedIntUnaryOperator(RecursiveIntUnaryOperator f,
       IntUnaryOperatorCache cache) {
-    final Recursive<IntUnaryOperator> r = new Recursive<>();
-    return r.f = v -> cache.get(v, () -> f.apply(v, r.f));
+    return new IntUnaryOperator() {
+      @Override
+      public int applyAsInt(int v) {
+        return cache.get(v, () -> f.apply(v, this));
+      }
+    };
   }
 
   /** Recursive {@link LongBinaryOperator}. */
   public static LongBinaryOperator longBinaryOperator(RecursiveLongBinaryOperator f) {
-    final Recursive<LongBinaryOperator> r = new Recursive<>();
-    return r.f = (left, right) -> f.apply(left, right, r.f);
+    return new LongBinaryOperator() {
+      @Override
+      public long applyAsLong(long left, long right) {
+        return f.apply(left, right, this);
+      }
+    };
+  }
+
+  /** Like {@link #longBinaryOperator}, but using memoization. The cache is a hash table of
+   * primitive keys and values.
+   *
+   * @param f
+   *          The operator
+   * @return recursive, cached LongBinaryOperator
+   * @see LongBinaryOperatorCache#create() */
+  public static LongBinaryOperator cachedLongBinaryOperator(RecursiveLongBinaryOperator f) {
+    return cachedLongBinaryOperator(f, LongBinaryOperatorCache.create());
   }
 
   /** Like {@link #longBinaryOperator}, but using memoization.
@@ -485,14 +1654,37 @@ public class Recursive<F> {
    * @return recursive, cached IntUnaryOperator */
   public static LongBinaryOperator cachedLongBinaryOperator(RecursiveLongBinaryOperator f,
       LongBinaryOperatorCache cache) {
-    final Recursive<LongBinaryOperator> r = new Recursive<>();
-    return r.f = (t, u) -> cache.get(t, u, () -> f.apply(t, u, r.f));
+    return new LongBinaryOperator() {
+      @Override
+      public long applyAsLong(long t, long u) {
+        return cache.get(t, u, () -> f.apply(t, u, this));
+      }
+    };
+  }
+
+  /** Calculates all values of the function in parallel, using a wavefront.
+   *
+   * @see #wavefrontIntBinaryOperator(RecursiveIntBinaryOperator, int, int) */
+  public static LongBinaryOperator wavefrontLongBinaryOperator(RecursiveLongBinaryOperator f,
+      int maxLeft, int maxRight) {
+    return wavefrontLongBinaryOperator(f, maxLeft, maxRight, ForkJoinPool.commonPool());
+  }
+
+  /** Like {@link #wavefrontLongBinaryOperator(RecursiveLongBinaryOperator, int, int)}, but using
+   * the given pool. */
+  public static LongBinaryOperator wavefrontLongBinaryOperator(RecursiveLongBinaryOperator f,
+      int maxLeft, int maxRight, ForkJoinPool pool) {
+    return Wavefront.longTable(f, maxLeft, maxRight, pool);
   }
 
   /** Recursive {@link LongFunction}. */
   public static <R> LongFunction<R> longFunction(RecursiveLongFunction<R> f) {
-    final Recursive<LongFunction<R>> r = new Recursive<>();
-    return r.f = i -> f.apply(i, r.f);
+    return new LongFunction<R>() {
+      @Override
+      public R apply(long i) {
+        return f.apply(i, this);
+      }
+    };
   }
 
   /** Like {@link #longFunction}, but using memoization.
@@ -504,14 +1696,46 @@ public class Recursive<F> {
    * @return recursive, cached LongFunction */
   public static <R> LongFunction<R> cachedLongFunction(RecursiveLongFunction<R> f,
       LongFunctionCache<R> cache) {
-    final Recursive<LongFunction<R>> r = new Recursive<>();
-    return r.f = v -> cache.get(v, () -> f.apply(v, r.f));
+    return new LongFunction<R>() {
+      @Override
+      public R apply(long v) {
+        return cache.get(v, () -> f.apply(v, this));
+      }
+    };
   }
 
   /** Recursive {@link LongPredicate}. */
   public static LongPredicate longPredicate(RecursiveLongPredicate f) {
-    final Recursive<LongPredicate> r = new Recursive<>();
-    return r.f = i -> f.test(i, r.f);
+    return new LongPredicate() {
+      @Override
+      public boolean test(long i) {
+        return f.test(i, this);
+      }
+    };
+  }
+
+  /** Like {@link #longPredicate}, but using memoization.
+   *
+   * @param f
+   *          The predicate
+   * @return recursive, cached LongPredicate
+   * @see LongPredicateCache#createSparse() */
+  public static LongPredicate cachedLongPredicate(RecursiveLongPredicate f) {
+    return cachedLongPredicate(f, LongPredicateCache.createSparse());
+  }
+
+  /** Like {@link #longPredicate}, but using memoization.
+   *
+   * @param f
+   *          The predicate
+   * @param min
+   *          the smallest possible input value
+   * @param max
+   *          the greatest possible input value
+   * @return recursive, cached LongPredicate
+   * @see LongPredicateCache#create(long, long) */
+  public static LongPredicate cachedLongPredicate(RecursiveLongPredicate f, long min, long max) {
+    return cachedLongPredicate(f, LongPredicateCache.create(min, max));
   }
 
   /** Like {@link #longPredicate}, but using memoization.
@@ -521,15 +1745,24 @@ public class Recursive<F> {
    * @param cache
    *          The cache for memoization
    * @return recursive, cached LongPredicate */
-  public static LongPredicate cachedLongPredicate(RecursiveLongPredicate f, LongPredicateCache cache) {
-    final Recursive<LongPredicate> r = new Recursive<>();
-    return r.f = v -> cache.get(v, () -> f.test(v, r.f));
+  public static LongPredicate cachedLongPredicate(RecursiveLongPredicate f,
+      LongPredicateCache cache) {
+    return new LongPredicate() {
+      @Override
+      public boolean test(long v) {
+        return cache.get(v, () -> f.test(v, this));
+      }
+    };
   }
 
   /** Recursive {@link LongToDoubleFunction}. */
   public static LongToDoubleFunction longToDoubleFunction(RecursiveLongToDoubleFunction f) {
-    final Recursive<LongToDoubleFunction> r = new Recursive<>();
-    return r.f = d -> f.apply(d, r.f);
+    return new LongToDoubleFunction() {
+      @Override
+      public double applyAsDouble(long d) {
+        return f.apply(d, this);
+      }
+    };
   }
 
   /** Like {@link #longToDoubleFunction}, but using memoization.
@@ -541,14 +1774,22 @@ public class Recursive<F> {
    * @return recursive, cached LongToDoubleFunction */
   public static LongToDoubleFunction cachedLongPredicate(RecursiveLongToDoubleFunction f,
       LongToDoubleFunctionCache cache) {
-    final Recursive<LongToDoubleFunction> r = new Recursive<>();
-    return r.f = v -> cache.get(v, () -> f.apply(v, r.f));
+    return new LongToDoubleFunction() {
+      @Override
+      public double applyAsDouble(long v) {
+        return cache.get(v, () -> f.apply(v, this));
+      }
+    };
   }
 
   /** Recursive {@link LongToIntFunction}. */
   public static LongToIntFunction longToIntFunction(RecursiveLongToIntFunction f) {
-    final Recursive<LongToIntFunction> r = new Recursive<>();
-    return r.f = d -> f.apply(d, r.f);
+    return new LongToIntFunction() {
+      @Override
+      public int applyAsInt(long d) {
+        return f.apply(d, this);
+      }
+    };
   }
 
   /** Like {@link #longToIntFunction}, but using memoization.
@@ -560,14 +1801,22 @@ public class Recursive<F> {
    * @return recursive, cached LongToIntFunction */
   public static LongToIntFunction cachedLongToIntFunction(RecursiveLongToIntFunction f,
       LongToIntFunctionCache cache) {
-    final Recursive<LongToIntFunction> r = new Recursive<>();
-    return r.f = v -> cache.get(v, () -> f.apply(v, r.f));
+    return new LongToIntFunction() {
+      @Override
+      public int applyAsInt(long v) {
+        return cache.get(v, () -> f.apply(v, this));
+      }
+    };
   }
 
   /** Recursive {@link LongUnaryOperator}. */
   public static LongUnaryOperator longUnaryOperator(RecursiveLongUnaryOperator f) {
-    final Recursive<LongUnaryOperator> r = new Recursive<>();
-    return r.f = i -> f.apply(i, r.f);
+    return new LongUnaryOperator() {
+      @Override
+      public long applyAsLong(long i) {
+        return f.apply(i, this);
+      }
+    };
   }
 
   /** Like {@link #longUnaryOperator}, but using memoization.
@@ -579,14 +1828,22 @@ public class Recursive<F> {
    * @return recursive, cached LongUnaryOperator */
   public static LongUnaryOperator cachedLongUnaryOperator(RecursiveLongUnaryOperator f,
       LongUnaryOperatorCache cache) {
-    final Recursive<LongUnaryOperator> r = new Recursive<>();
-    return r.f = v -> cache.get(v, () -> f.apply(v, r.f));
+    return new LongUnaryOperator() {
+      @Override
+      public long applyAsLong(long v) {
+        return cache.get(v, () -> f.apply(v, this));
+      }
+    };
   }
 
   /** Recursive {@link Predicate}. */
   public static <T> Predicate<T> predicate(BiPredicate<T, Predicate<T>> f) {
-    final Recursive<Predicate<T>> r = new Recursive<>();
-    return r.f = t -> f.test(t, r.f);
+    return new Predicate<T>() {
+      @Override
+      public boolean test(T t) {
+        return f.test(t, this);
+      }
+    };
   }
 
   /** Like {@link #predicate}, but using memoization.
@@ -613,15 +1870,23 @@ public class Recursive<F> {
    * @return recursive, cached Predicate */
   public static <T> Predicate<T> cachedPredicate(BiPredicate<T, Predicate<T>> f,
       FunctionCache<T, Boolean> cache) {
-    final Recursive<Predicate<T>> r = new Recursive<>();
-    return r.f = t -> cache.get(t, () -> f.test(t, r.f));
+    return new Predicate<T>() {
+      @Override
+      public boolean test(T t) {
+        return cache.get(t, () -> f.test(t, this));
+      }
+    };
   }
 
   /** Recursive {@link ToDoubleBiFunction}. */
   public static <T, U> ToDoubleBiFunction<T, U> toDoubleBiFunction(
       RecursiveToDoubleBiFunction<T, U> f) {
-    final Recursive<ToDoubleBiFunction<T, U>> r = new Recursive<>();
-    return r.f = (t, u) -> f.apply(t, u, r.f);
+    return new ToDoubleBiFunction<T, U>() {
+      @Override
+      public double applyAsDouble(T t, U u) {
+        return f.apply(t, u, this);
+      }
+    };
   }
 
   /** Like {@link #toDoubleBiFunction}, but using memoization.
@@ -633,14 +1898,22 @@ public class Recursive<F> {
    * @return recursive, cached ToDoubleBiFunction */
   public static <T, U> ToDoubleBiFunction<T, U> cachedToDoubleBiFunction(
       RecursiveToDoubleBiFunction<T, U> f, ToDoubleBiFunctionCache<T, U> cache) {
-    final Recursive<ToDoubleBiFunction<T, U>> r = new Recursive<>();
-    return r.f = (t, u) -> cache.get(t, u, () -> f.apply(t, u, r.f));
+    return new ToDoubleBiFunction<T, U>() {
+      @Override
+      public double applyAsDouble(T t, U u) {
+        return cache.get(t, u, () -> f.apply(t, u, this));
+      }
+    };
   }
 
   /** Recursive {@link ToDoubleFunction}. */
   public static <T> ToDoubleFunction<T> toDoubleFunction(RecursiveToDoubleFunction<T> f) {
-    final Recursive<ToDoubleFunction<T>> r = new Recursive<>();
-    return r.f = t -> f.apply(t, r.f);
+    return new ToDoubleFunction<T>() {
+      @Override
+      public double applyAsDouble(T t) {
+        return f.apply(t, this);
+      }
+    };
   }
 
   /** Like {@link #toDoubleFunction}, but using memoization.
@@ -652,14 +1925,22 @@ public class Recursive<F> {
    * @return recursive, cached LongToIntFunction */
   public static <T> ToDoubleFunction<T> cachedToDoubleFunction(RecursiveToDoubleFunction<T> f,
       ToDoubleFunctionCache<T> cache) {
-    final Recursive<ToDoubleFunction<T>> r = new Recursive<>();
-    return r.f = v -> cache.get(v, () -> f.apply(v, r.f));
+    return new ToDoubleFunction<T>() {
+      @Override
+      public double applyAsDouble(T v) {
+        return cache.get(v, () -> f.apply(v, this));
+      }
+    };
   }
 
   /** Recursive {@link ToIntBiFunction}. */
   public static <T, U> ToIntBiFunction<T, U> toIntBiFunction(RecursiveToIntBiFunction<T, U> f) {
-    final Recursive<ToIntBiFunction<T, U>> r = new Recursive<>();
-    return r.f = (t, u) -> f.apply(t, u, r.f);
+    return new ToIntBiFunction<T, U>() {
+      @Override
+      public int applyAsInt(T t, U u) {
+        return f.apply(t, u, this);
+      }
+    };
   }
 
   /** Like {@link #toIntBiFunction}, but using memoization.
@@ -671,14 +1952,22 @@ public class Recursive<F> {
    * @return recursive, cached ToIntBiFunction */
   public static <T, U> ToIntBiFunction<T, U> cachedIntBiFunction(RecursiveToIntBiFunction<T, U> f,
       ToIntBiFunctionCache<T, U> cache) {
-    final Recursive<ToIntBiFunction<T, U>> r = new Recursive<>();
-    return r.f = (t, u) -> cache.get(t, u, () -> f.apply(t, u, r.f));
+    return new ToIntBiFunction<T, U>() {
+      @Override
+      public int applyAsInt(T t, U u) {
+        return cache.get(t, u, () -> f.apply(t, u, this));
+      }
+    };
   }
 
   /** Recursive {@link ToIntFunction}. */
   public static <T> ToIntFunction<T> toIntFunction(RecursiveToIntFunction<T> f) {
-    final Recursive<ToIntFunction<T>> r = new Recursive<>();
-    return r.f = t -> f.applyAsInt(t, r.f);
+    return new ToIntFunction<T>() {
+      @Override
+      public int applyAsInt(T t) {
+        return f.applyAsInt(t, this);
+      }
+    };
   }
 
   /** Like {@link #toIntFunction}, but using memoization.
@@ -690,14 +1979,22 @@ public class Recursive<F> {
    * @return recursive, cached ToIntFunction */
   public static <T> ToIntFunction<T> cachedToIntFunction(RecursiveToIntFunction<T> f,
       ToIntFunctionCache<T> cache) {
-    final Recursive<ToIntFunction<T>> r = new Recursive<>();
-    return r.f = v -> cache.get(v, () -> f.apply(v, r.f));
+    return new ToIntFunction<T>() {
+      @Override
+      public int applyAsInt(T v) {
+        return cache.get(v, () -> f.apply(v, this));
+      }
+    };
   }
 
   /** Recursive {@link ToLongBiFunction}. */
   public static <T, U> ToLongBiFunction<T, U> toLongBiFunction(RecursiveToLongBiFunction<T, U> f) {
-    final Recursive<ToLongBiFunction<T, U>> r = new Recursive<>();
-    return r.f = (t, u) -> f.apply(t, u, r.f);
+    return new ToLongBiFunction<T, U>() {
+      @Override
+      public long applyAsLong(T t, U u) {
+        return f.apply(t, u, this);
+      }
+    };
   }
 
   /** Like {@link #toLongBiFunction}, but using memoization.
@@ -709,14 +2006,22 @@ public class Recursive<F> {
    * @return recursive, cached ToLongBiFunction */
   public static <T, U> ToLongBiFunction<T, U> cachedToLongBiFunction(
       RecursiveToLongBiFunction<T, U> f, ToLongBiFunctionCache<T, U> cache) {
-    final Recursive<ToLongBiFunction<T, U>> r = new Recursive<>();
-    return r.f = (t, u) -> cache.get(t, u, () -> f.apply(t, u, r.f));
+    return new ToLongBiFunction<T, U>() {
+      @Override
+      public long applyAsLong(T t, U u) {
+        return cache.get(t, u, () -> f.apply(t, u, this));
+      }
+    };
   }
 
   /** Recursive {@link ToLongFunction}. */
   public static <T> ToLongFunction<T> toLongFunction(RecursiveToLongFunction<T> f) {
-    final Recursive<ToLongFunction<T>> r = new Recursive<>();
-    return r.f = t -> f.applyAsLong(t, r.f);
+    return new ToLongFunction<T>() {
+      @Override
+      public long applyAsLong(T t) {
+        return f.applyAsLong(t, this);
+      }
+    };
   }
 
   /** Like {@link #toLongFunction}, but using memoization.
@@ -728,14 +2033,22 @@ public class Recursive<F> {
    * @return recursive, cached ToLongFunction */
   public static <T> ToLongFunction<T> cachedToLongFunction(RecursiveToLongFunction<T> f,
       ToLongFunctionCache<T> cache) {
-    final Recursive<ToLongFunction<T>> r = new Recursive<>();
-    return r.f = v -> cache.get(v, () -> f.apply(v, r.f));
+    return new ToLongFunction<T>() {
+      @Override
+      public long applyAsLong(T v) {
+        return cache.get(v, () -> f.apply(v, this));
+      }
+    };
   }
 
   /** Recursive {@link UnaryOperator}. */
   public static <T> UnaryOperator<T> unaryOperator(RecursiveUnaryOperator<T> f) {
-    final Recursive<UnaryOperator<T>> r = new Recursive<>();
-    return r.f = t -> f.apply(t, r.f);
+    return new UnaryOperator<T>() {
+      @Override
+      public T apply(T t) {
+        return f.apply(t, this);
+      }
+    };
   }
 
   /** Like {@link #unaryOperator}, but using memoization.
@@ -762,77 +2075,370 @@ public class Recursive<F> {
    * @return recursive, cached UnaryOperator */
   public static <T> UnaryOperator<T> cachedUnaryOperator(RecursiveUnaryOperator<T> f,
       FunctionCache<T, T> cache) {
-    final Recursive<UnaryOperator<T>> r = new Recursive<>();
-    return r.f = t -> cache.get(t, () -> f.apply(t, r.f));
+    return new UnaryOperator<T>() {
+      @Override
+      public T apply(T t) {
+        return cache.get(t, () -> f.apply(t, this));
+      }
+    };
   }
 
   /** Recursive {@link Consumer}. */
   public static <T> Consumer<T> consumer(BiConsumer<T, Consumer<T>> f) {
-    final Recursive<Consumer<T>> r = new Recursive<>();
-    return r.f = t -> f.accept(t, r.f);
+    return new Consumer<T>() {
+      @Override
+      public void accept(T t) {
+        f.accept(t, this);
+      }
+    };
+  }
+
+  /** Publisher of the items emitted by a recursive consumer. Each subscriber gets a new thread that
+   * runs the recursion, starting with the given value. The recursion waits while the subscriber
+   * does not request more items.
+   *
+   * @see RecursivePublisher */
+  public static <T, E> RecursivePublisher<E> publisher(T start, RecursivePublisher.Body<T, E> f) {
+    return publisher(start, f, r -> {
+      final Thread t = new Thread(r, "RecursivePublisher");
+      t.setDaemon(true);
+      t.start();
+    });
+  }
+
+  /** Publisher of the items emitted by a recursive consumer. The recursion runs on the executor,
+   * starting with the given value. It waits while the subscriber does not request more items. The
+   * executor should not be a {@link java.util.concurrent.ForkJoinPool}, because the recursion
+   * blocks while waiting.
+   *
+   * @see RecursivePublisher */
+  public static <T, E> RecursivePublisher<E> publisher(T start, RecursivePublisher.Body<T, E> f,
+      Executor executor) {
+    return new RecursivePublisher<>(start, f, executor);
   }
 
   /** Recursive {@link IntConsumer}. */
   public static IntConsumer intConsumer(RecursiveIntConsumer f) {
-    final Recursive<IntConsumer> r = new Recursive<>();
-    return r.f = t -> f.accept(t, r.f);
+    return new IntConsumer() {
+      @Override
+      public void accept(int t) {
+        f.accept(t, this);
+      }
+    };
   }
 
   /** Recursive {@link LongConsumer}. */
   public static LongConsumer longConsumer(RecursiveLongConsumer f) {
-    final Recursive<LongConsumer> r = new Recursive<>();
-    return r.f = t -> f.accept(t, r.f);
+    return new LongConsumer() {
+      @Override
+      public void accept(long t) {
+        f.accept(t, this);
+      }
+    };
   }
 
   /** Recursive {@link DoubleConsumer}. */
   public static DoubleConsumer longConsumer(RecursiveDoubleConsumer f) {
-    final Recursive<DoubleConsumer> r = new Recursive<>();
-    return r.f = t -> f.accept(t, r.f);
+    return new DoubleConsumer() {
+      @Override
+      public void accept(double t) {
+        f.accept(t, this);
+      }
+    };
   }
 
   /** Recursive {@link BiConsumer}. */
   public static <T, U> BiConsumer<T, U> biConsumer(RecursiveBiConsumer<T, U> f) {
-    final Recursive<BiConsumer<T, U>> r = new Recursive<>();
-    return r.f = (t, u) -> f.accept(t, u, r.f);
+    return new BiConsumer<T, U>() {
+      @Override
+      public void accept(T t, U u) {
+        f.accept(t, u, this);
+      }
+    };
   }
 
   /** Recursive {@link Callable}. */
   public static <T> Callable<T> callable(Function<Callable<T>, T> f) {
-    final Recursive<Callable<T>> r = new Recursive<>();
-    return r.f = () -> f.apply(r.f);
+    return new Callable<T>() {
+      @Override
+      public T call() {
+        return f.apply(this);
+      }
+    };
   }
 
   /** Recursive {@link Supplier}. */
   public static <T> Supplier<T> supplier(Function<Supplier<T>, T> f) {
-    final Recursive<Supplier<T>> r = new Recursive<>();
-    return r.f = () -> f.apply(r.f);
+    return new Supplier<T>() {
+      @Override
+      public T get() {
+        return f.apply(this);
+      }
+    };
   }
 
   /** Recursive {@link IntSupplier}. */
   public static IntSupplier intSupplier(ToIntFunction<IntSupplier> f) {
-    final Recursive<IntSupplier> r = new Recursive<>();
-    return r.f = () -> f.applyAsInt(r.f);
+    return new IntSupplier() {
+      @Override
+      public int getAsInt() {
+        return f.applyAsInt(this);
+      }
+    };
   }
 
   /** Recursive {@link LongSupplier}. */
   public static LongSupplier longSupplier(ToLongFunction<LongSupplier> f) {
-    final Recursive<LongSupplier> r = new Recursive<>();
-    return r.f = () -> f.applyAsLong(r.f);
+    return new LongSupplier() {
+      @Override
+      public long getAsLong() {
+        return f.applyAsLong(this);
+      }
+    };
   }
 
   /** Recursive {@link DoubleSupplier}. */
   public static DoubleSupplier longSupplier(ToDoubleFunction<DoubleSupplier> f) {
-    final Recursive<DoubleSupplier> r = new Recursive<>();
-    return r.f = () -> f.applyAsDouble(r.f);
+    return new DoubleSupplier() {
+      @Override
+      public double getAsDouble() {
+        return f.applyAsDouble(this);
+      }
+    };
   }
 
   /** Recursive {@link Runnable}. */
   public static Runnable runnable(Consumer<Runnable> f) {
-    final Recursive<Runnable> r = new Recursive<>();
-    return r.f = () -> f.accept(r.f);
+    return new Runnable() {
+      @Override
+      public void run() {
+        f.accept(this);
+      }
+    };
+  }
+
+  /** Recursive walk over a graph, where each node is visited at most once per call. Calls to
+   * {@code self} with a node that was already visited return at once. So this also works for
+   * cycles. The visited nodes are stored in a bitset.
+   *
+   * @param f
+   *          visits a node and calls {@code self} for its neighbours
+   * @param nodes
+   *          number of nodes. The ids of the nodes are 0 to {@code nodes - 1}.
+   * @return a walk, starting at the given node */
+  public static IntConsumer intTraversal(RecursiveIntConsumer f, int nodes) {
+    return Traversal.intConsumer(f, nodes);
+  }
+
+  /** Like {@link #intTraversal(RecursiveIntConsumer, int)}, but for nodes with any {@code long}
+   * id. The visited nodes are stored in a hash set with open addressing. */
+  public static LongConsumer longTraversal(RecursiveLongConsumer f) {
+    return Traversal.longConsumer(f);
+  }
+
+  /** Recursive function over a graph, where the result of each node is calculated at most once per
+   * call. Calls to {@code self} with a node that was already visited return the same result. A
+   * call with a node that is still calculated, which is on a cycle, returns {@code onCycle}.
+   *
+   * @param f
+   *          calculates the result of a node, using the results of its neighbours
+   * @param nodes
+   *          number of nodes. The ids of the nodes are 0 to {@code nodes - 1}.
+   * @param onCycle
+   *          the result of a node on a cycle, such as {@code null}
+   * @return the result of the walk, starting at the given node */
+  public static <R> IntFunction<R> cachedIntTraversal(RecursiveIntFunction<R> f, int nodes,
+      R onCycle) {
+    return Traversal.intFunction(f, nodes, onCycle);
   }
 
-  /** Holds a reference to the recursive function, predicate, operand, consumer, suppliert, callable
-   * or runnable. */
-  private F f;
+  /** Like {@link #cachedIntTraversal(RecursiveIntFunction, int, Object)}, but for nodes with any
+   * {@code long} id. */
+  public static <R> LongFunction<R> cachedLongTraversal(RecursiveLongFunction<R> f, R onCycle) {
+    return Traversal.longFunction(f, onCycle);
+  }
+
+  /** Parallel search for any match in a tree, using the common pool.
+   *
+   * @see #parallelSearch(RecursiveSearch, ForkJoinPool) */
+  public static <T, R> Function<T, Optional<R>> parallelSearch(RecursiveSearch<T, R> f) {
+    return parallelSearch(f, ForkJoinPool.commonPool());
+  }
+
+  /** Parallel search for any match in a tree. The body returns the result of a node, if it is a
+   * match, and passes all children to {@code self}. The children are searched in parallel. As soon
+   * as any branch finds a result, the other branches are cancelled: {@code self} then throws an
+   * exception that stops the body. The result is returned when no body is running anymore. If
+   * there are several matches, any of them might be returned.
+   *
+   * <pre>
+   * Function&lt;File, Optional&lt;File&gt;&gt; find = Recursive.parallelSearch((dir, self) -&gt; {
+   *   for (File x : dir.listFiles()) {
+   *     if (x.getName().equals("Demo.java"))
+   *       return Optional.of(x);
+   *     if (x.isDirectory())
+   *       self.accept(x);
+   *   }
+   *   return Optional.empty();
+   * });
+   * </pre>
+   *
+   * @param f
+   *          The body of the search
+   * @param pool
+   *          The pool that runs the search
+   * @return parallel search, which returns an empty Optional if there is no match */
+  public static <T, R> Function<T, Optional<R>> parallelSearch(RecursiveSearch<T, R> f,
+      ForkJoinPool pool) {
+    return ParallelSearch.function(f, pool);
+  }
+
+  /** Parallel search with two arguments, using the common pool.
+   *
+   * @see #parallelSearch(RecursiveSearch, ForkJoinPool) */
+  public static <T, U, R> BiFunction<T, U, Optional<R>> parallelBiSearch(
+      RecursiveBiSearch<T, U, R> f) {
+    return parallelBiSearch(f, ForkJoinPool.commonPool());
+  }
+
+  /** Parallel search with two arguments.
+   *
+   * @see #parallelSearch(RecursiveSearch, ForkJoinPool) */
+  public static <T, U, R> BiFunction<T, U, Optional<R>> parallelBiSearch(
+      RecursiveBiSearch<T, U, R> f, ForkJoinPool pool) {
+    return ParallelSearch.biFunction(f, pool);
+  }
+
+  /** Recursive function that loads the values of its keys in batches.
+   *
+   * @see #batchedFunction(Function, int, RecursiveBatchFunction) */
+  public static <K, V, R> Function<K, R> batchedFunction(
+      Function<? super List<K>, ? extends List<V>> loader, RecursiveBatchFunction<K, V, R> f) {
+    return batchedFunction(loader, Integer.MAX_VALUE, f);
+  }
+
+  /** Recursive function that loads the values of its keys in batches. A call to {@code self} only
+   * requests a key and returns a future. All keys that are requested at the same level of the
+   * recursion are loaded by one call of the loader. Then the body is called with each key and its
+   * value. Each key is requested only once per call of the returned function, so the results of
+   * keys that are used more than once are shared. All of this runs on the calling thread.
+   *
+   * <pre>
+   * Function&lt;Integer, Integer&gt; size = Recursive.batchedFunction(store::loadAll,
+   *     (id, node, self) -&gt; node.children.stream().map(self).reduce(
+   *         CompletableFuture.completedFuture(1), (a, b) -&gt; a.thenCombine(b, Integer::sum)));
+   * </pre>
+   *
+   * @param loader
+   *          loads the values of a list of keys, in the same order
+   * @param maxBatch
+   *          the maximum number of keys per call of the loader
+   * @param f
+   *          The body of the function
+   * @return recursive function that uses as many batches as the depth of the recursion */
+  public static <K, V, R> Function<K, R> batchedFunction(
+      Function<? super List<K>, ? extends List<V>> loader, int maxBatch,
+      RecursiveBatchFunction<K, V, R> f) {
+    return Batching.function(loader, maxBatch, f);
+  }
+
+  /** Recursive {@link Function} that is bounded by a budget of calls and time. Each call from
+   * outside of the recursion gets the whole budget. All calls of {@code self} are counted, and the
+   * clock is only read every few calls.
+   *
+   * @param f
+   *          The function
+   * @param budget
+   *          the limits of each call from outside
+   * @return recursive Function that throws a {@link BudgetExceededException} when the budget is
+   *         exceeded
+   * @see Budget */
+  public static <T, R> Function<T, R> boundedFunction(BiFunction<T, Function<T, R>, R> f,
+      Budget budget) {
+    return Bounded.function(f, null, budget);
+  }
+
+  /** Like {@link #boundedFunction(BiFunction, Budget)}, but the result is given by the fallback
+   * when the budget is exceeded.
+   *
+   * @param fallback
+   *          result for the argument of the call from outside, such as a heuristic estimate */
+  public static <T, R> Function<T, R> boundedFunction(BiFunction<T, Function<T, R>, R> f,
+      Budget budget, Function<? super T, ? extends R> fallback) {
+    return Bounded.function(f, null, budget, fallback);
+  }
+
+  /** Like {@link #boundedFunction(BiFunction, Budget)}, but using memoization. When the budget is
+   * exceeded, the entries that were completed stay in the cache. So the next call continues where
+   * the last one stopped.
+   *
+   * @param cache
+   *          The cache for memoization. */
+  public static <T, R> Function<T, R> cachedBoundedFunction(BiFunction<T, Function<T, R>, R> f,
+      FunctionCache<T, R> cache, Budget budget) {
+    return Bounded.function(f, cache, budget);
+  }
+
+  /** Like {@link #cachedBoundedFunction(BiFunction, FunctionCache, Budget)}, but the result is
+   * given by the fallback when the budget is exceeded. */
+  public static <T, R> Function<T, R> cachedBoundedFunction(BiFunction<T, Function<T, R>, R> f,
+      FunctionCache<T, R> cache, Budget budget, Function<? super T, ? extends R> fallback) {
+    return Bounded.function(f, cache, budget, fallback);
+  }
+
+  /** Recursive {@link BiFunction} that is bounded by a budget of calls and time.
+   *
+   * @see #boundedFunction(BiFunction, Budget) */
+  public static <T, U, R> BiFunction<T, U, R> boundedBiFunction(RecursiveBiFunction<T, U, R> f,
+      Budget budget) {
+    return Bounded.biFunction(f, null, budget);
+  }
+
+  /** Like {@link #boundedBiFunction(RecursiveBiFunction, Budget)}, but the result is given by the
+   * fallback when the budget is exceeded. */
+  public static <T, U, R> BiFunction<T, U, R> boundedBiFunction(RecursiveBiFunction<T, U, R> f,
+      Budget budget, BiFunction<? super T, ? super U, ? extends R> fallback) {
+    return Bounded.biFunction(f, null, budget, fallback);
+  }
+
+  /** Like {@link #boundedBiFunction(RecursiveBiFunction, Budget)}, but using memoization.
+   *
+   * @see #cachedBoundedFunction(BiFunction, FunctionCache, Budget) */
+  public static <T, U, R> BiFunction<T, U, R> cachedBoundedBiFunction(
+      RecursiveBiFunction<T, U, R> f, BiFunctionCache<T, U, R> cache, Budget budget) {
+    return Bounded.biFunction(f, cache, budget);
+  }
+
+  /** Like {@link #cachedBoundedBiFunction(RecursiveBiFunction, BiFunctionCache, Budget)}, but the
+   * result is given by the fallback when the budget is exceeded. */
+  public static <T, U, R> BiFunction<T, U, R> cachedBoundedBiFunction(
+      RecursiveBiFunction<T, U, R> f, BiFunctionCache<T, U, R> cache, Budget budget,
+      BiFunction<? super T, ? super U, ? extends R> fallback) {
+    return Bounded.biFunction(f, cache, budget, fallback);
+  }
+
+  /** Creates a tracer that records the call tree of recursive functions. Use it to wrap the
+   * definition of a function before it is passed to one of the factory methods.
+   *
+   * @param root
+   *          name of the root frame
+   * @param classifier
+   *          label of the frame of each argument. Primitive arguments are boxed; two arguments are
+   *          passed as a list. Arguments should be grouped to a few labels, such as "even" or
+   *          "odd", or "size=" and the size of a collection.
+   * @param rate
+   *          the fraction of calls from outside of the recursion that is traced, from 0 to 1
+   * @return a new tracer
+   * @see RecursionTracer */
+  public static RecursionTracer tracer(String root, Function<Object, String> classifier,
+      double rate) {
+    return new RecursionTracer(root, classifier, rate);
+  }
+
+  /** Creates a builder for a group of mutually recursive functions.
+   *
+   * @see RecursiveGroup */
+  public static <T, R> RecursiveGroup.Builder<T, R> group() {
+    return new RecursiveGroup.Builder<>();
+  }
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package ch.claude_martin.recursive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import ch.claude_martin.recursive.cache.BiFunctionCache;
+import ch.claude_martin.recursive.cache.FunctionCache;
+
+/** A group of mutually recursive functions. Each function has a name and can call all functions of
+ * the group, including itself. The extra parameter "self" is the group.
+ * 
+ * <pre>
+ * RecursiveGroup&lt;Integer, Boolean&gt; g = Recursive.&lt;Integer, Boolean&gt; group()
+ *     .define("even", (n, self) -&gt; n == 0 || self.apply("odd", n - 1))
+ *     .define("odd", (n, self) -&gt; n != 0 &amp;&amp; self.apply("even", n - 1))
+ *     .build();
+ * Function&lt;Integer, Boolean&gt; even = g.get("even");
+ * </pre>
+ * <p>
+ * Members can use memoization. They either use their own cache or one cache that is shared by the
+ * group. The shared cache uses the id of the function and the argument as the key.
+ *
+ * @author Claude Martin
+ * @see Recursive#group()
+ *
+ * @param <T>
+ *          the type of the input of all functions
+ * @param <R>
+ *          the type of the result of all functions */
+public final class RecursiveGroup<T, R> {
+  /** Builder for a {@link RecursiveGroup}. */
+  public static final class Builder<T, R> {
+    private final Map<String, BiFunction<T, RecursiveGroup<T, R>, R>> bodies =
+        new LinkedHashMap<>();
+    private final Map<String, FunctionCache<T, R>> caches = new HashMap<>();
+    private final Map<String, Boolean> cached = new HashMap<>();
+    private BiFunctionCache<Integer, T, R> shared;
+
+    Builder() {
+    }
+
+    /** Adds a function without memoization. */
+    public Builder<T, R> define(String name, BiFunction<T, RecursiveGroup<T, R>, R> f) {
+      return this.add(name, f, false, null);
+    }
+
+    /** Adds a function with memoization. It uses the {@link #sharedCache(BiFunctionCache) shared
+     * cache}, if there is one. Otherwise it gets its own cache, using a {@link HashMap}. */
+    public Builder<T, R> defineCached(String name, BiFunction<T, RecursiveGroup<T, R>, R> f) {
+      return this.add(name, f, true, null);
+    }
+
+    /** Adds a function with memoization, using the given cache. */
+    public Builder<T, R> defineCached(String name, BiFunction<T, RecursiveGroup<T, R>, R> f,
+        FunctionCache<T, R> cache) {
+      return this.add(name, f, true, requireNonNull(cache, "cache"));
+    }
+
+    /** Sets the cache that is used by all functions that are defined by
+     * {@link #defineCached(String, BiFunction)}. The key is the id of the function (the order of
+     * definition, starting at 0) and the argument. */
+    public Builder<T, R> sharedCache(BiFunctionCache<Integer, T, R> cache) {
+      this.shared = requireNonNull(cache, "cache");
+      return this;
+    }
+
+    private Builder<T, R> add(String name, BiFunction<T, RecursiveGroup<T, R>, R> f,
+        boolean cached, FunctionCache<T, R> cache) {
+      requireNonNull(name, "name");
+      requireNonNull(f, "f");
+      if (this.bodies.containsKey(name))
+        throw new IllegalArgumentException("Function already defined: " + name);
+      this.bodies.put(name, f);
+      this.cached.put(name, cached);
+      if (cache != null)
+        this.caches.put(name, cache);
+      return this;
+    }
+
+    /** Creates the group. The builder can be used again to create more groups, but caches that were
+     * passed to the builder are then used by all of them. */
+    public RecursiveGroup<T, R> build() {
+      if (this.bodies.isEmpty())
+        throw new IllegalStateException("No functions defined.");
+      return new RecursiveGroup<>(this);
+    }
+  }
+
+  private final Map<String, Integer> ids;
+  private final Function<T, R>[] functions;
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private RecursiveGroup(Builder<T, R> builder) {
+    final Map<String, Integer> map = new LinkedHashMap<>();
+    this.functions = new Function[builder.bodies.size()];
+    final BiFunctionCache<Integer, T, R> shared = builder.shared;
+    for (final Map.Entry<String, BiFunction<T, RecursiveGroup<T, R>, R>> e : builder.bodies
+        .entrySet()) {
+      final String name = e.getKey();
+      final BiFunction<T, RecursiveGroup<T, R>, R> f = e.getValue();
+      final Integer id = map.size();
+      map.put(name, id);
+      final FunctionCache<T, R> cache = builder.caches.get(name);
+      if (!builder.cached.get(name))
+        this.functions[id] = t -> f.apply(t, this);
+      else if (cache != null)
+        this.functions[id] = t -> cache.get(t, () -> f.apply(t, this));
+      else if (shared != null)
+        this.functions[id] = t -> shared.get(id, t, () -> f.apply(t, this));
+      else {
+        final FunctionCache<T, R> own = FunctionCache.create();
+        this.functions[id] = t -> own.get(t, () -> f.apply(t, this));
+      }
+    }
+    this.ids = Collections.unmodifiableMap(map);
+  }
+
+  /** Calls the function of the given name. */
+  public R apply(String name, T t) {
+    return this.functions[this.id(name)].apply(t);
+  }
+
+  /** Calls the function of the given id. This is faster than {@link #apply(String, Object)}.
+   * 
+   * @see #id(String) */
+  public R apply(int id, T t) {
+    return this.functions[id].apply(t);
+  }
+
+  /** Returns the function of the given name. */
+  public Function<T, R> get(String name) {
+    return this.functions[this.id(name)];
+  }
+
+  /** Returns the id of the function of the given name. The ids are assigned in the order of
+   * definition, starting at 0. */
+  public int id(String name) {
+    final Integer id = this.ids.get(name);
+    if (id == null)
+      throw new IllegalArgumentException("Unknown function: " + name);
+    return id;
+  }
+
+  /** Names of all functions, in the order of definition. */
+  public Set<String> names() {
+    return this.ids.keySet();
+  }
+}
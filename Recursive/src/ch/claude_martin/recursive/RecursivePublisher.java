@@ -0,0 +1,175 @@
+package ch.claude_martin.recursive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/** A publisher of items that are emitted by a recursive consumer. The recursion runs on an
+ * {@link Executor} and is suspended when the subscriber has not requested more items. Nothing is
+ * buffered, so memory does not grow with the number of items.
+ * 
+ * <p>
+ * The interfaces {@link Subscriber} and {@link Subscription} have the same methods as those of
+ * {@code java.util.concurrent.Flow}, which is not available in Java 8. On newer versions of Java a
+ * {@code Flow.Subscriber} can be adapted by method references.
+ * 
+ * <pre>
+ * RecursivePublisher&lt;File&gt; javaFiles = Recursive.publisher(root, (dir, self, emit) -&gt; {
+ *   for (File f : dir.listFiles()) {
+ *     if (f.getName().endsWith(".java"))
+ *       emit.accept(f);
+ *     if (f.isDirectory())
+ *       self.accept(f);
+ *   }
+ * });
+ * </pre>
+ * 
+ * Each subscriber gets its own recursion.
+ *
+ * @author Claude Martin
+ * @see Recursive#publisher(Object, Body)
+ * 
+ * @param <E>
+ *          The type of the published items. */
+public final class RecursivePublisher<E> {
+  /** Recursive consumer that emits items. */
+  @FunctionalInterface
+  public interface Body<T, E> {
+    void accept(T t, Consumer<T> self, Consumer<E> emit);
+  }
+
+  /** Same as {@code java.util.concurrent.Flow.Subscriber}. */
+  public interface Subscriber<E> {
+    void onSubscribe(Subscription subscription);
+
+    void onNext(E item);
+
+    void onError(Throwable throwable);
+
+    void onComplete();
+  }
+
+  /** Same as {@code java.util.concurrent.Flow.Subscription}. */
+  public interface Subscription {
+    void request(long n);
+
+    void cancel();
+  }
+
+  /** Thrown by "emit" to unwind the recursion after cancellation. */
+  private static final class Cancelled extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    Cancelled() {
+      super(null, null, false, false);
+    }
+  }
+
+  private final class Run<T> implements Subscription, Runnable {
+    private final Subscriber<? super E> subscriber;
+    /** Guarded by "this". */
+    private long demand;
+    /** Guarded by "this". */
+    private boolean cancelled;
+    /** Guarded by "this". */
+    private Throwable error;
+
+    Run(Subscriber<? super E> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public synchronized void request(long n) {
+      if (n <= 0)
+        this.error = new IllegalArgumentException("non-positive request: " + n);
+      else
+        this.demand = this.demand + n < 0 ? Long.MAX_VALUE : this.demand + n;
+      this.notifyAll();
+    }
+
+    @Override
+    public synchronized void cancel() {
+      this.cancelled = true;
+      this.notifyAll();
+    }
+
+    /** Waits for demand and passes the item to the subscriber. */
+    private void emit(E item) {
+      synchronized (this) {
+        try {
+          while (this.demand == 0 && !this.cancelled && this.error == null)
+            this.wait();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          this.cancelled = true;
+        }
+        if (this.cancelled || this.error != null)
+          throw new Cancelled();
+        this.demand--;
+      }
+      this.subscriber.onNext(item);
+    }
+
+    private synchronized boolean isCancelled() {
+      return this.cancelled;
+    }
+
+    private synchronized Throwable getError() {
+      return this.error;
+    }
+
+    @Override
+    public void run() {
+      try {
+        final Consumer<E> emit = this::emit;
+        Recursive.<T> consumer((t, self) -> {
+          if (this.isCancelled())
+            throw new Cancelled();
+          RecursivePublisher.this.<T> body().accept(t, self, emit);
+        }).accept(RecursivePublisher.this.<T> start());
+      } catch (final Cancelled e) {
+        final Throwable error = this.getError();
+        if (error != null)
+          this.subscriber.onError(error);
+        return;
+      } catch (final Throwable e) {
+        this.subscriber.onError(e);
+        return;
+      }
+      this.subscriber.onComplete();
+    }
+  }
+
+  private final Object start;
+  private final Body<?, E> body;
+  private final Executor executor;
+
+  <T> RecursivePublisher(T start, Body<T, E> body, Executor executor) {
+    this.start = start;
+    this.body = requireNonNull(body, "body");
+    this.executor = requireNonNull(executor, "executor");
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T start() {
+    return (T) this.start;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Body<T, E> body() {
+    return (Body<T, E>) this.body;
+  }
+
+  /** Starts a new recursion for the subscriber. Items are emitted on a thread of the executor. */
+  public void subscribe(Subscriber<? super E> subscriber) {
+    requireNonNull(subscriber, "subscriber");
+    final Run<?> run = new Run<>(subscriber);
+    subscriber.onSubscribe(run);
+    try {
+      this.executor.execute(run);
+    } catch (final RuntimeException e) {
+      subscriber.onError(e);
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package ch.claude_martin.recursive;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+
+import ch.claude_martin.recursive.cache.Hashing;
+import ch.claude_martin.recursive.function.RecursiveIntConsumer;
+import ch.claude_martin.recursive.function.RecursiveIntFunction;
+import ch.claude_martin.recursive.function.RecursiveLongConsumer;
+import ch.claude_martin.recursive.function.RecursiveLongFunction;
+
+/** Recursive walks over graphs, where each node is visited only once per call from outside of the
+ * recursion. Nodes are ids of type {@code int} (from 0 to the number of nodes, exclusive) or
+ * {@code long}. The visited nodes are stored in a bitset or in a hash set with open addressing, so
+ * no boxing is done. Each call from outside uses a new set. */
+final class Traversal {
+  private Traversal() {
+    throw new UnsupportedOperationException();
+  }
+
+  /** Marks nodes that are visited, but without result yet. */
+  private static final Object VISITING = new Object();
+
+  /** Set of long ids with open addressing. Each id gets the next position, starting at 0. */
+  private static final class LongIndex {
+    private long[] ids = new long[16];
+    private int[] positions = new int[16];
+    private int size;
+
+    /** The position of the id, or -1 - the new position if it was not in the set. */
+    int add(long id) {
+      if (2 * (this.size + 1) > this.ids.length)
+        this.resize();
+      final int mask = this.ids.length - 1;
+      int i = (int) Hashing.mix(id) & mask;
+      // positions are stored +1, so 0 is a free slot.
+      while (this.positions[i] != 0) {
+        if (this.ids[i] == id)
+          return this.positions[i] - 1;
+        i = (i + 1) & mask;
+      }
+      this.ids[i] = id;
+      this.positions[i] = ++this.size;
+      return -this.size;
+    }
+
+    private void resize() {
+      final long[] oldIds = this.ids;
+      final int[] oldPositions = this.positions;
+      this.ids = new long[oldIds.length << 1];
+      this.positions = new int[oldIds.length << 1];
+      final int mask = this.ids.length - 1;
+      for (int j = 0; j < oldIds.length; j++)
+        if (oldPositions[j] != 0) {
+          int i = (int) Hashing.mix(oldIds[j]) & mask;
+          while (this.positions[i] != 0)
+            i = (i + 1) & mask;
+          this.ids[i] = oldIds[j];
+          this.positions[i] = oldPositions[j];
+        }
+    }
+  }
+
+  private static void checkNodes(int nodes) {
+    if (nodes < 0)
+      throw new IllegalArgumentException("nodes=" + nodes);
+  }
+
+  private static void checkNode(int node, int nodes) {
+    if (node < 0 || node >= nodes)
+      throw new IllegalArgumentException(node + " is not a node of the traversal.");
+  }
+
+  static IntConsumer intConsumer(RecursiveIntConsumer f, int nodes) {
+    checkNodes(nodes);
+    return start -> {
+      final long[] visited = new long[(nodes + 63) >>> 6];
+      Recursive.intConsumer((i, self) -> {
+        checkNode(i, nodes);
+        final long bit = 1L << i;
+        if ((visited[i >>> 6] & bit) != 0)
+          return;
+        visited[i >>> 6] |= bit;
+        f.accept(i, self);
+      }).accept(start);
+    };
+  }
+
+  static LongConsumer longConsumer(RecursiveLongConsumer f) {
+    return start -> {
+      final LongIndex visited = new LongIndex();
+      Recursive.longConsumer((final long l, final LongConsumer self) -> {
+        if (visited.add(l) < 0)
+          f.accept(l, self);
+      }).accept(start);
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  static <R> IntFunction<R> intFunction(RecursiveIntFunction<R> f, int nodes, R onCycle) {
+    checkNodes(nodes);
+    return start -> {
+      final Object[] results = new Object[nodes];
+      return Recursive.<R> intFunction((i, self) -> {
+        checkNode(i, nodes);
+        final Object cached = results[i];
+        if (cached == VISITING)
+          return onCycle;
+        if (cached != null)
+          return cached == results ? null : (R) cached;
+        results[i] = VISITING;
+        final R result = f.apply(i, self);
+        // the array itself marks null.
+        results[i] = result == null ? results : result;
+        return result;
+      }).apply(start);
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  static <R> LongFunction<R> longFunction(RecursiveLongFunction<R> f, R onCycle) {
+    return start -> {
+      final LongIndex index = new LongIndex();
+      final Object[][] results = { new Object[16] };
+      return Recursive.<R> longFunction((l, self) -> {
+        final int position = index.add(l);
+        if (position >= 0) {
+          final Object cached = results[0][position];
+          return cached == VISITING ? onCycle : (R) cached;
+        }
+        final int p = -1 - position;
+        if (p == results[0].length)
+          results[0] = Arrays.copyOf(results[0], p << 1);
+        results[0][p] = VISITING;
+        final R result = f.apply(l, self);
+        results[0][p] = result;
+        return result;
+      }).apply(start);
+    };
+  }
+}
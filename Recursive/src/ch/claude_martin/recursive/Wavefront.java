@@ -0,0 +1,140 @@
+package ch.claude_martin.recursive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.Supplier;
+
+import ch.claude_martin.recursive.function.RecursiveIntBinaryOperator;
+import ch.claude_martin.recursive.function.RecursiveLongBinaryOperator;
+
+/** Parallel evaluation of a recursive function of two indices. The table of all results is filled
+ * tile by tile. All tiles on the same anti-diagonal are independent and run in parallel. The tiles
+ * on the next anti-diagonal start when they are done.
+ * 
+ * <p>
+ * The value at {@code (i, j)} may only use values at {@code (i', j')} with {@code i' <= i} and
+ * {@code j' <= j}, such as {@code (i-1, j)}, {@code (i, j-1)} and {@code (i-1, j-1)}. Those are
+ * always calculated before. This is the case for edit distance, longest common subsequence and
+ * paths in a grid. Reading any other cell throws an {@link IllegalStateException}. This only
+ * depends on the indices, not on the progress of other threads, so it is deterministic. */
+final class Wavefront {
+  private Wavefront() {
+    throw new UnsupportedOperationException();
+  }
+
+  /** Width and height of one tile. */
+  static final int TILE = 64;
+
+  /** Calculates the cells of one tile, row by row. Reads are checked against the cell that is
+   * calculated. A new instance is used for each tile, so it is only used by one thread. */
+  private abstract static class Cell {
+    private final int maxLeft, maxRight;
+    /** The cell that is calculated. */
+    private int i, j;
+
+    Cell(int maxLeft, int maxRight) {
+      this.maxLeft = maxLeft;
+      this.maxRight = maxRight;
+    }
+
+    final void run(int i, int j) {
+      this.i = i;
+      this.j = j;
+      this.compute(i, j);
+    }
+
+    abstract void compute(int i, int j);
+
+    /** Returns the index of a cell that was calculated before the current cell. */
+    final int check(long i, long j) {
+      final int index = index(i, j, this.maxLeft, this.maxRight);
+      if (i > this.i || j > this.j || i == this.i && j == this.j)
+        throw new IllegalStateException(String.format(
+            "(%d, %d) is used before it is calculated.", i, j));
+      return index;
+    }
+  }
+
+  static IntBinaryOperator intTable(RecursiveIntBinaryOperator f, int maxLeft, int maxRight,
+      ForkJoinPool pool) {
+    final int cols = maxRight + 1;
+    final int[] table = new int[size(maxLeft, maxRight)];
+    fill(maxLeft + 1, cols, () -> new Cell(maxLeft, maxRight) {
+      final IntBinaryOperator self = (i, j) -> table[this.check(i, j)];
+
+      @Override
+      void compute(int i, int j) {
+        table[i * cols + j] = f.apply(i, j, this.self);
+      }
+    }, pool);
+    return (i, j) -> table[index(i, j, maxLeft, maxRight)];
+  }
+
+  static LongBinaryOperator longTable(RecursiveLongBinaryOperator f, int maxLeft, int maxRight,
+      ForkJoinPool pool) {
+    final int cols = maxRight + 1;
+    final long[] table = new long[size(maxLeft, maxRight)];
+    fill(maxLeft + 1, cols, () -> new Cell(maxLeft, maxRight) {
+      final LongBinaryOperator self = (i, j) -> table[this.check(i, j)];
+
+      @Override
+      void compute(int i, int j) {
+        table[i * cols + j] = f.apply(i, j, this.self);
+      }
+    }, pool);
+    return (i, j) -> table[index(i, j, maxLeft, maxRight)];
+  }
+
+  private static int size(int maxLeft, int maxRight) {
+    if (maxLeft < 0 || maxRight < 0)
+      throw new IllegalArgumentException(String.format("maxLeft=%d; maxRight=%d", maxLeft,
+          maxRight));
+    final long size = (maxLeft + 1L) * (maxRight + 1L);
+    if (size > Integer.MAX_VALUE - 8)
+      throw new IllegalArgumentException("Too many elements: " + size);
+    return (int) size;
+  }
+
+  /** Index of a cell in the table. */
+  private static int index(long i, long j, int maxLeft, int maxRight) {
+    if (i < 0 || i > maxLeft || j < 0 || j > maxRight)
+      throw new IllegalArgumentException(String.format(
+          "(%d, %d) is not in bounds of the table.", i, j));
+    return (int) i * (maxRight + 1) + (int) j;
+  }
+
+  private static void fill(int rows, int cols, Supplier<Cell> tile, ForkJoinPool pool) {
+    final int tileRows = (rows + TILE - 1) / TILE, tileCols = (cols + TILE - 1) / TILE;
+    pool.invoke(new RecursiveAction() {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected void compute() {
+        for (int d = 0; d < tileRows + tileCols - 1; d++) {
+          final List<RecursiveAction> tiles = new ArrayList<>();
+          for (int ti = Math.max(0, d - tileCols + 1); ti <= Math.min(d, tileRows - 1); ti++) {
+            final int i0 = ti * TILE, j0 = (d - ti) * TILE;
+            tiles.add(new RecursiveAction() {
+              private static final long serialVersionUID = 1L;
+
+              @Override
+              protected void compute() {
+                final int i1 = Math.min(i0 + TILE, rows), j1 = Math.min(j0 + TILE, cols);
+                final Cell cell = tile.get();
+                for (int i = i0; i < i1; i++)
+                  for (int j = j0; j < j1; j++)
+                    cell.run(i, j);
+              }
+            });
+          }
+          ForkJoinTask.invokeAll(tiles);
+        }
+      }
+    });
+  }
+}
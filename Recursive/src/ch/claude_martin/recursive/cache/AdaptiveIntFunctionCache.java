@@ -0,0 +1,285 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+/** A cache of int keys that chooses its representation by the keys it has seen:
+ * <dl>
+ * <dt>{@link Representation#HASH HASH}</dt>
+ * <dd>A hash table with open addressing, for sparse keys. This is how the cache starts.</dd>
+ * <dt>{@link Representation#PAGED PAGED}</dt>
+ * <dd>Pages of {@value #PAGE_SIZE} slots, which are only allocated when used. This is for keys that
+ * are dense in some regions.</dd>
+ * <dt>{@link Representation#DENSE DENSE}</dt>
+ * <dd>One array for the whole range of keys, when most keys in that range are used.</dd>
+ * </dl>
+ * The decision is made again whenever the current representation is full or a key is out of its
+ * range. So it can also change back to a sparse representation. Each change copies all entries,
+ * but since the capacity at least doubles, the cost per entry is constant.
+ * 
+ * <p>
+ * The current representation, the number of entries, the range of the keys and the number of
+ * migrations can be queried.
+ * 
+ * <p>
+ * This is not thread safe.
+ *
+ * @see IntFunctionCache#createAdaptive() */
+public final class AdaptiveIntFunctionCache<R> implements IntFunctionCache<R> {
+  /** The representations of the cache. */
+  public enum Representation {
+    HASH, PAGED, DENSE
+  }
+
+  static final int PAGE_SIZE = 1024;
+  private static final int PAGE_BITS = 10;
+  /** Stored instead of null. */
+  private static final Object NULL = new Object();
+
+  /** Storage of entries. Each returns null for unknown keys. */
+  private abstract static class Store {
+    abstract Object get(int key);
+
+    /** Returns false if there is no space for the key. */
+    abstract boolean put(int key, Object value);
+
+    /** Passes each entry to the action, the value first. */
+    abstract void forEach(ObjIntConsumer<Object> action);
+
+    abstract Representation representation();
+  }
+
+  private static final class HashStore extends Store {
+    final int[] keys;
+    final Object[] values;
+    final int mask;
+    int size;
+
+    HashStore(int capacity) {
+      final int length = Hashing.tableSize(2L * capacity);
+      this.keys = new int[length];
+      this.values = new Object[length];
+      this.mask = length - 1;
+    }
+
+    @Override
+    Object get(int key) {
+      for (int i = (int) Hashing.mix(key) & this.mask; this.values[i] != null; i = (i + 1)
+          & this.mask)
+        if (this.keys[i] == key)
+          return this.values[i];
+      return null;
+    }
+
+    @Override
+    boolean put(int key, Object value) {
+      int i = (int) Hashing.mix(key) & this.mask;
+      for (; this.values[i] != null; i = (i + 1) & this.mask)
+        if (this.keys[i] == key) {
+          this.values[i] = value;
+          return true;
+        }
+      if (this.size + 1 > this.values.length / 2)
+        return false;
+      this.keys[i] = key;
+      this.values[i] = value;
+      this.size++;
+      return true;
+    }
+
+    @Override
+    void forEach(ObjIntConsumer<Object> action) {
+      for (int i = 0; i < this.values.length; i++)
+        if (this.values[i] != null)
+          action.accept(this.values[i], this.keys[i]);
+    }
+
+    @Override
+    Representation representation() {
+      return Representation.HASH;
+    }
+  }
+
+  private static final class DenseStore extends Store {
+    final long min;
+    final Object[] values;
+
+    DenseStore(long min, long max) {
+      this.min = min;
+      this.values = new Object[(int) (max - min + 1)];
+    }
+
+    @Override
+    Object get(int key) {
+      final long i = key - this.min;
+      return i >= 0 && i < this.values.length ? this.values[(int) i] : null;
+    }
+
+    @Override
+    boolean put(int key, Object value) {
+      final long i = key - this.min;
+      if (i < 0 || i >= this.values.length)
+        return false;
+      this.values[(int) i] = value;
+      return true;
+    }
+
+    @Override
+    void forEach(ObjIntConsumer<Object> action) {
+      for (int i = 0; i < this.values.length; i++)
+        if (this.values[i] != null)
+          action.accept(this.values[i], (int) (this.min + i));
+    }
+
+    @Override
+    Representation representation() {
+      return Representation.DENSE;
+    }
+  }
+
+  private static final class PagedStore extends Store {
+    /** First key of the first page. */
+    final long base;
+    final Object[][] pages;
+
+    PagedStore(long min, long max) {
+      this.base = min;
+      this.pages = new Object[(int) ((max - min) >>> PAGE_BITS) + 1][];
+    }
+
+    @Override
+    Object get(int key) {
+      final long i = key - this.base;
+      if (i < 0)
+        return null;
+      final long p = i >>> PAGE_BITS;
+      if (p >= this.pages.length || this.pages[(int) p] == null)
+        return null;
+      return this.pages[(int) p][(int) i & (PAGE_SIZE - 1)];
+    }
+
+    @Override
+    boolean put(int key, Object value) {
+      final long i = key - this.base;
+      final long p = i >>> PAGE_BITS;
+      if (i < 0 || p >= this.pages.length)
+        return false;
+      Object[] page = this.pages[(int) p];
+      if (page == null)
+        page = this.pages[(int) p] = new Object[PAGE_SIZE];
+      page[(int) i & (PAGE_SIZE - 1)] = value;
+      return true;
+    }
+
+    @Override
+    void forEach(ObjIntConsumer<Object> action) {
+      for (int p = 0; p < this.pages.length; p++)
+        if (this.pages[p] != null)
+          for (int i = 0; i < PAGE_SIZE; i++)
+            if (this.pages[p][i] != null)
+              action.accept(this.pages[p][i], (int) (this.base + ((long) p << PAGE_BITS) + i));
+    }
+
+    @Override
+    Representation representation() {
+      return Representation.PAGED;
+    }
+  }
+
+  private Store store = new HashStore(16);
+  private int size;
+  private int min = Integer.MAX_VALUE;
+  private int max = Integer.MIN_VALUE;
+  private int migrations;
+
+  AdaptiveIntFunctionCache() {
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public R get(int key, Supplier<R> supplier) {
+    final Object cached = this.store.get(key);
+    if (cached != null)
+      return cached == NULL ? null : (R) cached;
+    final R result = supplier.get();
+    final Object value = result == null ? NULL : result;
+    // The supplier might have added entries and changed the store.
+    if (this.store.get(key) == null) {
+      this.size++;
+      this.min = Math.min(this.min, key);
+      this.max = Math.max(this.max, key);
+    }
+    if (!this.store.put(key, value)) {
+      this.migrate();
+      this.store.put(key, value);
+    }
+    return result;
+  }
+
+  /** Chooses the representation for the current keys, with space for growth, and copies all
+   * entries. */
+  private void migrate() {
+    final long range = (long) this.max - this.min + 1;
+    // Headroom of half the range on each side, clamped to the domain of int.
+    final long lo = Math.max(Integer.MIN_VALUE, this.min - range / 2);
+    final long hi = Math.min(Integer.MAX_VALUE, this.max + range / 2);
+    final Store next;
+    if (2L * this.size >= range && hi - lo + 1 <= Integer.MAX_VALUE - 8)
+      next = new DenseStore(lo, hi);
+    else if (32L * this.size >= range)
+      next = new PagedStore(lo, hi);
+    else
+      next = new HashStore(2 * this.size);
+    this.store.forEach((value, key) -> next.put(key, value));
+    this.store = next;
+    this.migrations++;
+  }
+
+  /** Creates an immutable copy of this cache, which uses less memory and can be used by all
+   * threads without locking. If at least a quarter of the range of the keys is used, the copy is
+   * one array for that range. Otherwise it uses sorted arrays of keys and values. Missing keys are
+   * calculated, but not stored. This cache is not changed.
+   * 
+   * @see FunctionCache#freeze(java.util.Map) */
+  public IntFunctionCache<R> freeze() {
+    final int[] keys = new int[this.size];
+    final Object[] values = new Object[this.size];
+    final int[] n = { 0 };
+    this.store.forEach((value, key) -> {
+      keys[n[0]] = key;
+      values[n[0]++] = value == NULL ? null : value;
+    });
+    return FrozenCaches.intFunction(keys, values);
+  }
+
+  /** The current representation. */
+  public Representation getRepresentation() {
+    return this.store.representation();
+  }
+
+  /** Number of cached entries. */
+  public int size() {
+    return this.size;
+  }
+
+  /** Smallest key, or {@link Integer#MAX_VALUE} if empty. */
+  public int getMin() {
+    return this.min;
+  }
+
+  /** Greatest key, or {@link Integer#MIN_VALUE} if empty. */
+  public int getMax() {
+    return this.max;
+  }
+
+  /** Number of changes of the representation. */
+  public int getMigrations() {
+    return this.migrations;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s[%s; size=%d; min=%d; max=%d; migrations=%d]", this.getClass()
+        .getSimpleName(), this.getRepresentation(), this.size, this.min, this.max, this.migrations);
+  }
+}
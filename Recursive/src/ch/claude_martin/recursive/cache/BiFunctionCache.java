@@ -2,8 +2,13 @@ package ch.claude_martin.recursive.cache;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 @FunctionalInterface
@@ -16,11 +21,65 @@ public interface BiFunctionCache<T, U, R> {
    * @see FunctionCache#create(Supplier) */
   public static <T, U, R> BiFunctionCache<T, U, R> create(Supplier<Map<Object, R>> ctor) {
     final Map<Object, R> map = requireNonNull(ctor, "ctor").get();
-    return (t, u, s) -> map.computeIfAbsent(new Pair<>(t, u), key -> s.get());
+    return (t, u, s) -> MapCaches.get(map, new Pair<>(t, u), s);
   }
 
-  /** Default cache, using {@link HashMap}. */
+  /** Default cache, using {@link HashMap}. It is tracked by the {@link CacheRegistry} if that is
+   * enabled. */
   public static <T, U, R> BiFunctionCache<T, U, R> create() {
-    return create(HashMap::new);
+    final FunctionCache<Pair<T, U>, R> cache = CacheRegistry.global().map();
+    return (t, u, s) -> cache.get(new Pair<>(t, u), s);
+  }
+
+  /** Thread safe cache that calculates entries again when they are older than the given duration.
+   * 
+   * @see FunctionCache#createExpiring(Duration) */
+  public static <T, U, R> BiFunctionCache<T, U, R> createExpiring(Duration expireAfterWrite) {
+    final FunctionCache<Pair<T, U>, R> cache = FunctionCache.createExpiring(expireAfterWrite);
+    return (t, u, s) -> cache.get(new Pair<>(t, u), s);
+  }
+
+  /** Thread safe cache that calculates old entries again in the background.
+   * 
+   * @see FunctionCache#createRefreshing(Duration, Duration, Executor) */
+  public static <T, U, R> BiFunctionCache<T, U, R> createRefreshing(Duration refreshAfterWrite,
+      Duration expireAfterWrite, Executor executor) {
+    final FunctionCache<Pair<T, U>, R> cache = FunctionCache.createRefreshing(refreshAfterWrite,
+        expireAfterWrite, executor);
+    return (t, u, s) -> cache.get(new Pair<>(t, u), s);
+  }
+
+  /** Cache with a limited number of entries on the heap and the others in a file.
+   * 
+   * @see FunctionCache#createSpilling(int, Path, Serializer, Serializer) */
+  public static <T, U, R> SpillingBiFunctionCache<T, U, R> createSpilling(int heapEntries,
+      Path file, Serializer<T> first, Serializer<U> second, Serializer<R> values)
+      throws IOException {
+    return new SpillingBiFunctionCache<>(heapEntries, file, first, second, values);
+  }
+
+  /** A cache for commutative functions, where {@code f(a, b)} equals {@code f(b, a)}. The
+   * arguments are passed to the given cache in the natural order, so both orders use the same
+   * entry. {@code null} is less than any other value.
+   * 
+   * @see #commutative(BiFunctionCache, Comparator) */
+  public static <T extends Comparable<? super T>, R> BiFunctionCache<T, T, R> commutative(
+      BiFunctionCache<T, T, R> cache) {
+    return commutative(cache, Comparator.nullsFirst(Comparator.<T> naturalOrder()));
+  }
+
+  /** A cache for commutative functions, where {@code f(a, b)} equals {@code f(b, a)}. The
+   * arguments are passed to the given cache in the order of the comparator, so both orders use the
+   * same entry. The comparator must be consistent with equals.
+   * 
+   * @param cache
+   *          the cache that gets the smaller argument first
+   * @param comparator
+   *          the order of the arguments */
+  public static <T, R> BiFunctionCache<T, T, R> commutative(BiFunctionCache<T, T, R> cache,
+      Comparator<? super T> comparator) {
+    requireNonNull(cache, "cache");
+    requireNonNull(comparator, "comparator");
+    return (a, b, s) -> comparator.compare(a, b) <= 0 ? cache.get(a, b, s) : cache.get(b, a, s);
   }
 }
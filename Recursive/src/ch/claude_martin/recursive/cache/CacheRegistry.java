@@ -0,0 +1,276 @@
+package ch.claude_martin.recursive.cache;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import ch.claude_martin.recursive.Recursive;
+
+/** Keeps track of the memory used by the default caches of this library and enforces one budget
+ * for all of them. When the budget is exceeded, the caches that were not used for the longest time
+ * are cleared until the total is within the budget again.
+ * 
+ * <p>
+ * The registry is disabled by default. Only caches that are created while it is enabled are
+ * tracked. These are the caches created by {@link FunctionCache#create()},
+ * {@link BiFunctionCache#create()} and the array based caches of int keys, such as
+ * {@link IntFunctionCache#create(int, int)}. They are also used by the methods of
+ * {@link ch.claude_martin.recursive.Recursive Recursive} that do not take a cache. Caches created
+ * by any other factory, such as {@link IntFunctionCache#createAdaptive()} or
+ * {@link FunctionCache#createExpiring(java.time.Duration)}, are not tracked. An array that is
+ * larger than the whole budget is not tracked either, because it would be cleared whenever it is
+ * allocated.
+ * 
+ * <p>
+ * The number of bytes is an estimate. Arrays are measured exactly, while map entries are counted
+ * as {@value #ENTRY_BYTES} bytes each, which includes small keys and values. Each cache is named by
+ * the code that created it, so the usage can be reported per closure.
+ * 
+ * <p>
+ * The registry does not keep caches alive. A cache can be cleared by another thread while it is
+ * used. Then the entries added by the current call might be lost, but the cache remains
+ * consistent. */
+public final class CacheRegistry {
+  /** Estimated bytes of one map entry. */
+  public static final long ENTRY_BYTES = 64;
+
+  private static final CacheRegistry GLOBAL = new CacheRegistry();
+
+  /** The registry of all caches of this library. */
+  public static CacheRegistry global() {
+    return GLOBAL;
+  }
+
+  /** A cache that can be measured and cleared. */
+  abstract static class Tracked {
+    final CacheRegistry registry;
+    final String name;
+    /** Time of last use, in units of 2<sup>20</sup> ns (about one millisecond). */
+    volatile long lastUse;
+
+    Tracked(CacheRegistry registry, String name) {
+      this.registry = registry;
+      this.name = name;
+      this.touch();
+    }
+
+    /** Only writes the volatile field when the time has moved on by one unit, so that hits of a
+     * busy cache do not each write to it. */
+    final void touch() {
+      final long now = System.nanoTime() >> 20;
+      if (now != this.lastUse)
+        this.lastUse = now;
+    }
+
+    abstract long bytes();
+
+    abstract void clear();
+  }
+
+  /** Array that is allocated when needed, and set to null to clear it. */
+  static final class TrackedArray<A> extends Tracked implements Supplier<A> {
+    private final Supplier<A> allocator;
+    private final long bytes;
+    private volatile A array;
+
+    TrackedArray(CacheRegistry registry, String name, Supplier<A> allocator, long bytes) {
+      super(registry, name);
+      this.allocator = allocator;
+      this.bytes = bytes;
+    }
+
+    @Override
+    public A get() {
+      this.touch();
+      A a = this.array;
+      if (a == null) {
+        this.array = a = this.allocator.get();
+        this.registry.grown(this.bytes);
+      }
+      return a;
+    }
+
+    @Override
+    long bytes() {
+      return this.array == null ? 0 : this.bytes;
+    }
+
+    @Override
+    void clear() {
+      this.array = null;
+    }
+  }
+
+  /** Map cache that replaces the map to clear it. */
+  static final class TrackedMap<K, V> extends Tracked implements FunctionCache<K, V> {
+    private volatile Map<K, V> map = new HashMap<>();
+    private int added;
+
+    TrackedMap(CacheRegistry registry, String name) {
+      super(registry, name);
+    }
+
+    @Override
+    public V get(K key, Supplier<V> supplier) {
+      this.touch();
+      final Map<K, V> m = this.map;
+      final V cached = m.get(key);
+      if (cached != null)
+        return cached;
+      final V result = supplier.get();
+      if (result == null)
+        return null;
+      final V previous = m.putIfAbsent(key, result);
+      if (previous != null)
+        return previous;
+      if ((++this.added & 1023) == 0)
+        this.registry.grown(1024 * ENTRY_BYTES);
+      return result;
+    }
+
+    @Override
+    long bytes() {
+      return this.map.size() * ENTRY_BYTES;
+    }
+
+    @Override
+    void clear() {
+      this.map = new HashMap<>();
+    }
+  }
+
+  private volatile boolean enabled;
+  private volatile long budget = Long.MAX_VALUE;
+  /** Guarded by "this". */
+  private final List<WeakReference<Tracked>> caches = new ArrayList<>();
+  /** Bytes added since the last check. Guarded by "this". */
+  private long growth;
+
+  private CacheRegistry() {
+  }
+
+  /** Tracks all caches that are created from now on and enforces the given budget.
+   * 
+   * @param budget
+   *          maximum number of bytes of all caches. Use {@link Long#MAX_VALUE} for no limit. */
+  public synchronized void enable(long budget) {
+    if (budget <= 0)
+      throw new IllegalArgumentException("budget=" + budget);
+    this.budget = budget;
+    this.enabled = true;
+    this.enforce();
+  }
+
+  /** Stops tracking new caches. Caches that are already tracked remain tracked. */
+  public void disable() {
+    this.enabled = false;
+  }
+
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  public long getBudget() {
+    return this.budget;
+  }
+
+  /** Estimated bytes of all tracked caches. */
+  public synchronized long estimatedBytes() {
+    long total = 0;
+    for (final Tracked t : this.live())
+      total += t.bytes();
+    return total;
+  }
+
+  /** Estimated bytes per name of the tracked caches. The name is the location in the code where
+   * the cache was created. */
+  public synchronized Map<String, Long> usage() {
+    final Map<String, Long> result = new TreeMap<>();
+    for (final Tracked t : this.live())
+      result.merge(t.name, t.bytes(), Long::sum);
+    return result;
+  }
+
+  /** Clears the least recently used caches until the total is within the budget. */
+  public synchronized void enforce() {
+    this.growth = 0;
+    final List<Tracked> live = this.live();
+    long total = 0;
+    for (final Tracked t : live)
+      total += t.bytes();
+    if (total <= this.budget)
+      return;
+    live.sort(Comparator.comparingLong(t -> t.lastUse));
+    for (final Tracked t : live) {
+      total -= t.bytes();
+      t.clear();
+      if (total <= this.budget)
+        return;
+    }
+  }
+
+  /** Caches that still exist. Guarded by "this". */
+  private List<Tracked> live() {
+    final List<Tracked> result = new ArrayList<>();
+    for (final Iterator<WeakReference<Tracked>> itr = this.caches.iterator(); itr.hasNext();) {
+      final Tracked t = itr.next().get();
+      if (t == null)
+        itr.remove();
+      else
+        result.add(t);
+    }
+    return result;
+  }
+
+  /** Called when a cache has grown. The budget is checked when enough memory was added. */
+  synchronized void grown(long bytes) {
+    this.growth += bytes;
+    if (this.growth >= Math.min(this.budget / 64, 1 << 20) || this.growth >= this.budget)
+      this.enforce();
+  }
+
+  private synchronized void add(Tracked t) {
+    this.caches.add(new WeakReference<>(t));
+  }
+
+  /** Storage of an array based cache. If the registry is enabled the array is tracked, allocated
+   * when needed and can be cleared. */
+  <A> Supplier<A> array(Supplier<A> allocator, long bytes) {
+    if (!this.enabled || bytes > this.budget) {
+      final A array = allocator.get();
+      return () -> array;
+    }
+    final TrackedArray<A> tracked = new TrackedArray<>(this, caller(), allocator, bytes);
+    this.add(tracked);
+    return tracked;
+  }
+
+  /** A {@link HashMap} based cache. It is tracked if the registry is enabled. */
+  <K, V> FunctionCache<K, V> map() {
+    if (!this.enabled) {
+      final Map<K, V> map = new HashMap<>();
+      return (k, s) -> MapCaches.get(map, k, s);
+    }
+    final TrackedMap<K, V> tracked = new TrackedMap<>(this, caller());
+    this.add(tracked);
+    return tracked;
+  }
+
+  /** The first element of the stack that is not in this package or in {@link Recursive}. */
+  private static String caller() {
+    final String recursive = Recursive.class.getName();
+    for (final StackTraceElement e : new Throwable().getStackTrace()) {
+      final String cls = e.getClassName();
+      if (!cls.startsWith(CacheRegistry.class.getPackage().getName() + '.')
+          && !cls.equals(recursive) && !cls.startsWith(recursive + '$'))
+        return e.toString();
+    }
+    return "unknown";
+  }
+}
@@ -0,0 +1,67 @@
+package ch.claude_martin.recursive.cache;
+
+/** Maps a tuple of 3 or 4 ints to the index of one flat array (row-major order) and keeps track of
+ * the occupied indices in a bitset. Each argument is allowed from 0 to its maximum (both
+ * inclusive).
+ * 
+ * <p>
+ * This is not thread safe. */
+final class DenseIndex {
+  private final int max0, max1, max2, max3;
+  private final int stride0, stride1, stride2;
+  private final int size;
+  private final long[] known;
+
+  DenseIndex(int max0, int max1, int max2) {
+    this(max0, max1, max2, 0);
+  }
+
+  DenseIndex(int max0, int max1, int max2, int max3) {
+    if (max0 < 0 || max1 < 0 || max2 < 0 || max3 < 0)
+      throw new IllegalArgumentException(String.format("max=(%d, %d, %d, %d)", max0, max1, max2,
+          max3));
+    final long size = (max0 + 1L) * (max1 + 1L) * (max2 + 1L) * (max3 + 1L);
+    if (size > Integer.MAX_VALUE - 8)
+      throw new IllegalArgumentException("Too many elements: " + size);
+    this.max0 = max0;
+    this.max1 = max1;
+    this.max2 = max2;
+    this.max3 = max3;
+    this.stride2 = max3 + 1;
+    this.stride1 = this.stride2 * (max2 + 1);
+    this.stride0 = this.stride1 * (max1 + 1);
+    this.size = (int) size;
+    this.known = new long[(this.size + 63) >>> 6];
+  }
+
+  /** Length of the flat array. */
+  int size() {
+    return this.size;
+  }
+
+  /** Index of (a, b, c). The unsigned comparison also rejects negative values. */
+  int of(int a, int b, int c) {
+    if (Integer.compareUnsigned(a, this.max0) > 0 || Integer.compareUnsigned(b, this.max1) > 0
+        || Integer.compareUnsigned(c, this.max2) > 0)
+      throw new IllegalArgumentException(String.format(
+          "(%d, %d, %d) is not in bounds of used cache.", a, b, c));
+    return a * this.stride0 + b * this.stride1 + c * this.stride2;
+  }
+
+  /** Index of (a, b, c, d). The unsigned comparison also rejects negative values. */
+  int of(int a, int b, int c, int d) {
+    if (Integer.compareUnsigned(a, this.max0) > 0 || Integer.compareUnsigned(b, this.max1) > 0
+        || Integer.compareUnsigned(c, this.max2) > 0 || Integer.compareUnsigned(d, this.max3) > 0)
+      throw new IllegalArgumentException(String.format(
+          "(%d, %d, %d, %d) is not in bounds of used cache.", a, b, c, d));
+    return a * this.stride0 + b * this.stride1 + c * this.stride2 + d;
+  }
+
+  boolean isKnown(int i) {
+    return (this.known[i >>> 6] & (1L << i)) != 0;
+  }
+
+  void setKnown(int i) {
+    this.known[i >>> 6] |= 1L << i;
+  }
+}
@@ -1,16 +1,44 @@
 package ch.claude_martin.recursive.cache;
 
-import java.util.Map;
-import java.util.TreeMap;
+import static java.util.Objects.requireNonNull;
+
 import java.util.function.DoubleSupplier;
 
 @FunctionalInterface
 public interface DoubleBinaryOperatorCache {
   public double get(double left, double right, DoubleSupplier supplier);
 
-  /** Creates a cache that is backed by a {@code Map<Long, Integer>}. */
+  /** Creates a cache that is backed by a hash table of primitive values. Both operands are used by
+   * their raw bits. So {@code 0.0} and {@code -0.0} are different keys, while all NaN values are
+   * the same key. The table grows as needed. */
   public static DoubleBinaryOperatorCache create() {
-    final Map<Pair<Double, Double>, Double> map = new TreeMap<>();
-    return (a, b, s) -> map.computeIfAbsent(new Pair<>(a, b), x -> s.getAsDouble());
+    return PairCaches.doubleBinaryOperator(new LongPairTable(64, false, false));
+  }
+
+  /** Like {@link #create()}, but the table never grows beyond the given capacity, rounded up to a
+   * power of two. When it is full new entries replace old ones, which then have to be calculated
+   * again.
+   * 
+   * @param capacity
+   *          maximum number of cached entries */
+  public static DoubleBinaryOperatorCache createBounded(int capacity) {
+    return PairCaches.doubleBinaryOperator(new LongPairTable(capacity, true, false));
+  }
+
+  /** Creates a cache that uses the cells of both operands on the grid of the given tolerance.
+   * 
+   * @see DoubleUnaryOperatorCache#createQuantized(Tolerance) */
+  public static DoubleBinaryOperatorCache createQuantized(Tolerance tolerance) {
+    return QuantizedCaches.doubleBinaryOperator(tolerance);
+  }
+
+  /** A cache for commutative operators, where {@code f(a, b) == f(b, a)}. The arguments are passed
+   * to the given cache in the order of {@link Double#compare(double, double)}, so both orders use
+   * the same entry.
+   * 
+   * @see IntBinaryOperatorCache#commutative(IntBinaryOperatorCache) */
+  public static DoubleBinaryOperatorCache commutative(DoubleBinaryOperatorCache cache) {
+    requireNonNull(cache, "cache");
+    return (a, b, s) -> Double.compare(a, b) <= 0 ? cache.get(a, b, s) : cache.get(b, a, s);
   }
 }
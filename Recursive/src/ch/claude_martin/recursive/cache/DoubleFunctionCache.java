@@ -5,4 +5,11 @@ import java.util.function.Supplier;
 @FunctionalInterface
 public interface DoubleFunctionCache<R> {
   public R get(double key, Supplier<R> supplier);
+
+  /** Creates a cache that uses the cell of the key on the grid of the given tolerance.
+   * 
+   * @see DoubleUnaryOperatorCache#createQuantized(Tolerance) */
+  public static <R> DoubleFunctionCache<R> createQuantized(Tolerance tolerance) {
+    return QuantizedCaches.doubleFunction(tolerance);
+  }
 }
@@ -6,4 +6,11 @@ import java.util.function.BooleanSupplier;
 public interface DoublePredicateCache {
   public boolean get(double key, BooleanSupplier supplier);
 
+  /** Creates a cache that allows any input. The raw bits of the key are used with a
+   * {@link LongPredicateCache#createSparse() sparse} cache. So {@code 0.0} and {@code -0.0} are
+   * different keys, while all NaN values are the same key. */
+  public static DoublePredicateCache create() {
+    final LongPredicateCache cache = LongPredicateCache.createSparse();
+    return (d, s) -> cache.get(Hashing.bits(d), s);
+  }
 }
@@ -5,4 +5,14 @@ import java.util.function.DoubleSupplier;
 @FunctionalInterface
 public interface DoubleUnaryOperatorCache {
   public double get(double key, DoubleSupplier supplier);
+
+  /** Creates a cache that uses the cell of the key on the grid of the given tolerance. Keys that
+   * differ only a little are then the same key. Use this for numeric recursions, where the keys
+   * are rarely exactly the same. The value of a cell is calculated with the first key in the cell.
+   * The table of primitive values grows as needed.
+   * 
+   * @see Tolerance */
+  public static DoubleUnaryOperatorCache createQuantized(Tolerance tolerance) {
+    return QuantizedCaches.doubleUnaryOperator(tolerance);
+  }
 }
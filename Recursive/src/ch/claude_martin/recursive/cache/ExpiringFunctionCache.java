@@ -0,0 +1,197 @@
+package ch.claude_martin.recursive.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/** A thread safe cache with time based policies:
+ * <dl>
+ * <dt>expire after write</dt>
+ * <dd>An entry is calculated again when it is older than the given duration.</dd>
+ * <dt>refresh after write</dt>
+ * <dd>When an entry older than the given duration is used, it is calculated again by an
+ * {@link Executor}. Until then, the old value is returned. If the calculation fails, the entry
+ * is removed, so the next use calculates it again and gets the exception. A refresh is discarded
+ * when the old entry was removed in the meantime.</dd>
+ * </dl>
+ * The time is measured by {@link System#nanoTime()}. Expired entries are removed by a timer wheel,
+ * even when they are not used again. This is done while the cache is used, or by
+ * {@link #cleanUp()}.
+ * 
+ * <p>
+ * {@code null} is never cached.
+ *
+ * @see FunctionCache#createExpiring(Duration)
+ * @see FunctionCache#createRefreshing(Duration, Duration, Executor) */
+public final class ExpiringFunctionCache<T, R> implements FunctionCache<T, R> {
+  private static final class Entry<R> {
+    final R value;
+    /** Time of calculation. */
+    final long written;
+    final AtomicBoolean refreshing = new AtomicBoolean();
+
+    Entry(R value, long written) {
+      this.value = value;
+      this.written = written;
+    }
+  }
+
+  private static final class Timer<T, R> {
+    final T key;
+    final Entry<R> entry;
+
+    Timer(T key, Entry<R> entry) {
+      this.key = key;
+      this.entry = entry;
+    }
+  }
+
+  /** Number of slots in the wheel. The wheel covers twice the expiry duration. */
+  private static final int SLOTS = 128;
+  /** Minimal duration of one slot. */
+  private static final long MIN_TICK = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final ConcurrentHashMap<T, Entry<R>> map = new ConcurrentHashMap<>();
+  private final LongSupplier clock;
+  private final long expireNanos;
+  private final long refreshNanos;
+  private final Executor executor;
+  /** Duration of one slot of the wheel. */
+  private final long tick;
+  private final Queue<Timer<T, R>>[] wheel;
+  private final ReentrantLock sweeping = new ReentrantLock();
+  /** Last tick that was swept. Guarded by "sweeping". */
+  private long swept;
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  ExpiringFunctionCache(Duration expireAfterWrite, Duration refreshAfterWrite, Executor executor,
+      LongSupplier clock) {
+    this.expireNanos = expireAfterWrite.toNanos();
+    this.refreshNanos = refreshAfterWrite == null ? Long.MAX_VALUE : refreshAfterWrite.toNanos();
+    if (this.expireNanos <= 0 || this.refreshNanos <= 0)
+      throw new IllegalArgumentException("durations must be positive");
+    if (refreshAfterWrite != null && this.refreshNanos >= this.expireNanos)
+      throw new IllegalArgumentException("refresh must be shorter than expiry");
+    this.executor = executor;
+    this.clock = clock;
+    this.tick = Math.max(MIN_TICK, this.expireNanos / (SLOTS / 2));
+    this.wheel = new Queue[SLOTS];
+    for (int i = 0; i < SLOTS; i++)
+      this.wheel[i] = new ConcurrentLinkedQueue<>();
+    this.swept = clock.getAsLong() / this.tick;
+  }
+
+  @Override
+  public R get(T key, Supplier<R> supplier) {
+    final long now = this.clock.getAsLong();
+    this.sweep(now);
+    final Entry<R> entry = this.map.get(key);
+    if (entry != null) {
+      final long age = now - entry.written;
+      if (age < this.refreshNanos)
+        return entry.value;
+      if (age < this.expireNanos) {
+        if (entry.refreshing.compareAndSet(false, true))
+          this.executor.execute(() -> {
+            try {
+              this.refresh(key, supplier.get(), entry);
+            } catch (final RuntimeException e) {
+              this.map.remove(key, entry);
+            } finally {
+              entry.refreshing.set(false);
+            }
+          });
+        return entry.value;
+      }
+    }
+    final R result = supplier.get();
+    this.put(key, result, entry);
+    return result;
+  }
+
+  /** Replaces the old entry, unless some other thread already did that. If the old entry was
+   * removed in the meantime, by a sweep or by {@link #invalidate(Object)}, the new entry is
+   * added. */
+  private void put(T key, R value, Entry<R> old) {
+    if (value == null)
+      return;
+    final Entry<R> entry = new Entry<>(value, this.clock.getAsLong());
+    if (old != null && this.map.replace(key, old, entry)
+        || this.map.putIfAbsent(key, entry) == null)
+      this.wheel[this.slot(entry.written + this.expireNanos)].add(new Timer<>(key, entry));
+  }
+
+  /** Replaces the old entry, but only if it is still mapped. A {@code null} value removes it. */
+  private void refresh(T key, R value, Entry<R> old) {
+    if (value == null) {
+      this.map.remove(key, old);
+      return;
+    }
+    final Entry<R> entry = new Entry<>(value, this.clock.getAsLong());
+    if (this.map.replace(key, old, entry))
+      this.wheel[this.slot(entry.written + this.expireNanos)].add(new Timer<>(key, entry));
+  }
+
+  private int slot(long time) {
+    return (int) (time / this.tick) & (SLOTS - 1);
+  }
+
+  /** Removes expired entries of all slots that were passed since the last sweep. */
+  private void sweep(long now) {
+    final long current = now / this.tick;
+    if (current == this.swept || !this.sweeping.tryLock())
+      return;
+    try {
+      final long from = Math.max(this.swept + 1, current - SLOTS + 1);
+      for (long t = from; t <= current; t++) {
+        final Queue<Timer<T, R>> queue = this.wheel[(int) t & (SLOTS - 1)];
+        for (int n = queue.size(); n > 0; n--) {
+          final Timer<T, R> timer = queue.poll();
+          if (timer == null)
+            break;
+          if (now - timer.entry.written >= this.expireNanos)
+            this.map.remove(timer.key, timer.entry);
+          else if (this.map.get(timer.key) == timer.entry)
+            queue.add(timer); // not yet expired: check again after one rotation
+        }
+      }
+      this.swept = current;
+    } finally {
+      this.sweeping.unlock();
+    }
+  }
+
+  /** Removes the entry of the key. */
+  public void invalidate(T key) {
+    this.map.remove(key);
+  }
+
+  /** Removes all expired entries now. */
+  public void cleanUp() {
+    final long now = this.clock.getAsLong();
+    this.map.entrySet().removeIf(e -> now - e.getValue().written >= this.expireNanos);
+  }
+
+  /** Number of entries, including expired entries that were not yet removed. */
+  public int size() {
+    return this.map.size();
+  }
+
+  static <T, R> ExpiringFunctionCache<T, R> create(Duration expireAfterWrite,
+      Duration refreshAfterWrite, Executor executor) {
+    requireNonNull(expireAfterWrite, "expireAfterWrite");
+    if (refreshAfterWrite != null)
+      requireNonNull(executor, "executor");
+    return new ExpiringFunctionCache<>(expireAfterWrite, refreshAfterWrite, executor,
+        System::nanoTime);
+  }
+}
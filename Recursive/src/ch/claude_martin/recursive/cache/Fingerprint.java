@@ -0,0 +1,83 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.List;
+
+/** A streaming 64 bit hash of a key. Caches that use a fingerprint only store the hash of a key,
+ * not the key itself. So the size of the key does not matter. Different seeds must give independent
+ * hash values, so that two of them can be combined to a 128 bit fingerprint.
+ * 
+ * <p>
+ * Two keys with the same fingerprint are considered equal. With <i>n</i> keys the probability of a
+ * collision is about <i>n</i>&sup2;/2<sup>65</sup> for 64 bits and <i>n</i>&sup2;/2<sup>129</sup>
+ * for 128 bits. This only holds if the fingerprint reads all of the key. A fingerprint that reads
+ * less, such as {@link #ofList()} with the 32 bit hash codes of the elements, collides whenever
+ * that part collides, whatever the number of bits.
+ *
+ * @see FunctionCache#createFingerprinted(Fingerprint, int, boolean) */
+@FunctionalInterface
+public interface Fingerprint<T> {
+  /** Hash of the key, using the given seed. */
+  public long hash(T key, long seed);
+
+  /** Combines the state of a streaming hash with the next value. */
+  public static long step(long h, long value) {
+    return Long.rotateLeft(h ^ value * 0x87c37b91114253d5L, 31) * 0x4cf5ad432745937fL;
+  }
+
+  /** Final mixing of a streaming hash, after all values were combined by {@link #step}. */
+  public static long finish(long h, long length) {
+    return Hashing.mix(h ^ length);
+  }
+
+  /** Fingerprint of the elements of an int array. */
+  public static Fingerprint<int[]> ofInts() {
+    return (a, seed) -> {
+      long h = seed;
+      for (final int i : a)
+        h = step(h, i);
+      return finish(h, a.length);
+    };
+  }
+
+  /** Fingerprint of the characters of a String or other character sequence. */
+  public static Fingerprint<CharSequence> ofChars() {
+    return (s, seed) -> {
+      long h = seed;
+      final int length = s.length();
+      for (int i = 0; i < length; i++)
+        h = step(h, s.charAt(i));
+      return finish(h, length);
+    };
+  }
+
+  /** Fingerprint of the {@link Object#hashCode() hash codes} of the elements of a list. This is
+   * good for lists of {@link Integer} or other elements with a hash code without collisions. Two
+   * lists whose elements have the same hash codes always have the same fingerprint, even with 128
+   * bits. Use {@link #ofList(Fingerprint)} for other elements. */
+  public static Fingerprint<List<?>> ofList() {
+    return (list, seed) -> {
+      long h = seed;
+      for (final Object e : list)
+        h = step(h, e == null ? 0 : e.hashCode());
+      return finish(h, list.size());
+    };
+  }
+
+  /** Fingerprint of the elements of a list, each by the given fingerprint with the same seed. So
+   * the probability of a collision only depends on the number of bits.
+   * 
+   * <pre>
+   * Fingerprint&lt;List&lt;String&gt;&gt; f = Fingerprint.ofList(Fingerprint.ofChars());
+   * </pre>
+   * 
+   * @param element
+   *          fingerprint of the elements. {@code null} is hashed as 0. */
+  public static <E> Fingerprint<List<? extends E>> ofList(Fingerprint<? super E> element) {
+    return (list, seed) -> {
+      long h = seed;
+      for (final E e : list)
+        h = step(h, e == null ? 0 : element.hash(e, seed));
+      return finish(h, list.size());
+    };
+  }
+}
@@ -0,0 +1,82 @@
+package ch.claude_martin.recursive.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Objects;
+
+/** Caches that only store the fingerprint of a key in a {@link LongPairTable}. When verified, the
+ * key is stored as well and compared to the key of each hit (arrays by their elements). */
+final class FingerprintCaches {
+  private FingerprintCaches() {
+    throw new UnsupportedOperationException();
+  }
+
+  private static final long SEED1 = 0x9e3779b97f4a7c15L;
+  private static final long SEED2 = 0xc2b2ae3d27d4eb4fL;
+
+  /** Key and value of a verified entry. */
+  private static final class Entry {
+    final Object key;
+    final Object value;
+
+    Entry(Object key, Object value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T, R> FunctionCache<T, R> function(Fingerprint<? super T> fingerprint, int bits,
+      boolean verify) {
+    requireNonNull(fingerprint, "fingerprint");
+    checkBits(bits);
+    final LongPairTable table = new LongPairTable(64, false, true);
+    return (t, s) -> {
+      final long l = fingerprint.hash(t, SEED1), r = bits == 64 ? 0 : fingerprint.hash(t, SEED2);
+      final int i = table.find(l, r);
+      if (i >= 0) {
+        final Object cached = table.object(i);
+        if (!verify)
+          return (R) cached;
+        return (R) verified(t, (Entry) cached).value;
+      }
+      final R result = s.get();
+      table.putObject(l, r, verify ? new Entry(t, result) : result);
+      return result;
+    };
+  }
+
+  static <T> ToIntFunctionCache<T> toIntFunction(Fingerprint<? super T> fingerprint, int bits,
+      boolean verify) {
+    requireNonNull(fingerprint, "fingerprint");
+    checkBits(bits);
+    final LongPairTable table = new LongPairTable(64, false, verify);
+    return (t, s) -> {
+      final long l = fingerprint.hash(t, SEED1), r = bits == 64 ? 0 : fingerprint.hash(t, SEED2);
+      final int i = table.find(l, r);
+      if (i >= 0) {
+        if (!verify)
+          return (int) table.value(i);
+        return (Integer) verified(t, (Entry) table.object(i)).value;
+      }
+      final int result = s.getAsInt();
+      if (verify)
+        table.putObject(l, r, new Entry(t, result));
+      else
+        table.put(l, r, result);
+      return result;
+    };
+  }
+
+  private static void checkBits(int bits) {
+    if (bits != 64 && bits != 128)
+      throw new IllegalArgumentException("bits must be 64 or 128, but was " + bits);
+  }
+
+  private static Entry verified(Object key, Entry entry) {
+    if (!Objects.deepEquals(key, entry.key))
+      throw new IllegalStateException("Fingerprint collision of " + key + " and " + entry.key
+          + ". Use 128 bits or a better fingerprint.");
+    return entry;
+  }
+}
@@ -0,0 +1,122 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/** Immutable caches, made of the entries of a cache after warm-up. The entries are stored in sorted
+ * primitive arrays, or in one array for a dense range of int keys. All arrays are only referenced
+ * by final fields of the returned lambda, so the caches are safely published and all threads can
+ * read them without locking. A missing key is calculated but not stored. */
+final class FrozenCaches {
+  private FrozenCaches() {
+    throw new UnsupportedOperationException();
+  }
+
+  /** Stored instead of null in dense arrays. */
+  private static final Object NULL = new Object();
+
+  private static int hash(Object key) {
+    return (int) Hashing.mix(Objects.hashCode(key));
+  }
+
+  /** Entries sorted by the mixed hash codes of their keys. Equal hash codes are next to each
+   * other, so they are searched linearly. */
+  @SuppressWarnings("unchecked")
+  static <T, R> FunctionCache<T, R> function(Map<? extends T, ? extends R> map) {
+    final int n = map.size();
+    final Object[] entryKeys = new Object[n];
+    final Object[] entryValues = new Object[n];
+    final long[] order = new long[n];
+    int e = 0;
+    for (final Map.Entry<? extends T, ? extends R> entry : map.entrySet()) {
+      entryKeys[e] = entry.getKey();
+      entryValues[e] = entry.getValue();
+      // hash in the upper half, index in the lower half.
+      order[e] = (long) hash(entry.getKey()) << 32 | e;
+      e++;
+    }
+    Arrays.sort(order);
+    final int[] hashes = new int[n];
+    final Object[] keys = new Object[n];
+    final Object[] values = new Object[n];
+    for (int i = 0; i < n; i++) {
+      final int index = (int) order[i];
+      hashes[i] = (int) (order[i] >> 32);
+      keys[i] = entryKeys[index];
+      values[i] = entryValues[index];
+    }
+    return (t, s) -> {
+      final int h = hash(t);
+      int i = Arrays.binarySearch(hashes, h);
+      if (i >= 0) {
+        while (i > 0 && hashes[i - 1] == h)
+          i--;
+        for (; i < hashes.length && hashes[i] == h; i++)
+          if (Objects.equals(keys[i], t))
+            return (R) values[i];
+      }
+      return s.get();
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  static <R> LongFunctionCache<R> longFunction(Map<Long, ? extends R> map) {
+    final long[] keys = new long[map.size()];
+    int n = 0;
+    for (final Long key : map.keySet())
+      keys[n++] = Objects.requireNonNull(key, "null is not allowed as key");
+    Arrays.sort(keys);
+    final Object[] values = new Object[n];
+    for (int i = 0; i < n; i++)
+      values[i] = map.get(keys[i]);
+    return (l, s) -> {
+      final int i = Arrays.binarySearch(keys, l);
+      return i >= 0 ? (R) values[i] : s.get();
+    };
+  }
+
+  /** Uses one array for the range of the keys if at least a quarter of it is used. Otherwise the
+   * keys are sorted.
+   * 
+   * @param keys
+   *          the keys, in any order
+   * @param values
+   *          the values of the keys, in the same order */
+  @SuppressWarnings("unchecked")
+  static <R> IntFunctionCache<R> intFunction(int[] keys, Object[] values) {
+    final int n = keys.length;
+    if (n == 0)
+      return (i, s) -> s.get();
+    final long[] order = new long[n];
+    for (int i = 0; i < n; i++)
+      order[i] = (long) keys[i] << 32 | i;
+    Arrays.sort(order);
+    final int min = (int) (order[0] >> 32);
+    final long range = (order[n - 1] >> 32) - min + 1;
+    if (range <= 4L * n) {
+      final Object[] dense = new Object[(int) range];
+      for (int i = 0; i < n; i++) {
+        final Object value = values[(int) order[i]];
+        dense[(int) ((order[i] >> 32) - min)] = value == null ? NULL : value;
+      }
+      return (i, s) -> {
+        final long index = (long) i - min;
+        final Object cached = index >= 0 && index < dense.length ? dense[(int) index] : null;
+        if (cached == null)
+          return s.get();
+        return cached == NULL ? null : (R) cached;
+      };
+    }
+    final int[] sortedKeys = new int[n];
+    final Object[] sortedValues = new Object[n];
+    for (int i = 0; i < n; i++) {
+      sortedKeys[i] = (int) (order[i] >> 32);
+      sortedValues[i] = values[(int) order[i]];
+    }
+    return (i, s) -> {
+      final int index = Arrays.binarySearch(sortedKeys, i);
+      return index >= 0 ? (R) sortedValues[index] : s.get();
+    };
+  }
+}
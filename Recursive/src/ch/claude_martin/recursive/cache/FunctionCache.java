@@ -2,43 +2,172 @@ package ch.claude_martin.recursive.cache;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
 import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 @FunctionalInterface
 public interface FunctionCache<T, R> {
   public R get(T key, Supplier<R> supplier);
 
-  /** A basic cache implementation that uses
-   * {@link Map#computeIfAbsent(Object, java.util.function.Function) computeIfAbsent}. This is thread
-   * safe if you use a thread safe map implementation that provides atomicity guarantees for
-   * computeIfAbsent.
+  /** A basic cache implementation that uses {@link Map#get(Object) get} and
+   * {@link Map#putIfAbsent(Object, Object) putIfAbsent}. This is thread safe if you use a thread
+   * safe map implementation that provides atomicity guarantees for putIfAbsent. A value might then
+   * be calculated more than once, but all callers get the same result.
    * 
    * @param ctor
    *          A supplier for a new (empty) {@link Map}.
    * @return a nrealy created {@link FunctionCache} */
   public static <T, R> FunctionCache<T, R> create(Supplier<Map<T, R>> ctor) {
     final Map<T, R> map = requireNonNull(ctor, "ctor").get();
-    return (t, s) -> map.computeIfAbsent(t, key -> s.get());
+    return (t, s) -> MapCaches.get(map, t, s);
   }
 
-  /** Default cache, using {@link HashMap}. */
+  /** Default cache, using {@link HashMap}. It is tracked by the {@link CacheRegistry} if that is
+   * enabled. */
   public static <T, R> FunctionCache<T, R> create() {
-    return create(HashMap::new);
+    return CacheRegistry.global().map();
   }
 
   /** Cache which only holds weak references (for both input and output). */
   public static <T, R> FunctionCache<T, R> createWeakCache() {
     final WeakHashMap<T, WeakReference<R>> map = new WeakHashMap<>();
     return (t, s) -> {
-      R result = null;
-      final WeakReference<R> ref = map.computeIfAbsent(t, key -> new WeakReference<>(s.get()));
-      if ((result = ref.get()) == null)
+      final WeakReference<R> ref = map.get(t);
+      R result = ref == null ? null : ref.get();
+      if (result == null)
         map.put(t, new WeakReference<>(result = s.get()));
       return result;
     };
   }
+
+  /** Cache that records which entries were used to calculate each entry, so that changes of the
+   * input only remove the entries that depend on them.
+   * 
+   * @see IncrementalFunctionCache#invalidate(Object) */
+  public static <T, R> IncrementalFunctionCache<T, R> createIncremental() {
+    return new IncrementalFunctionCache<>();
+  }
+
+  /** Thread safe cache that calculates entries again when they are older than the given duration.
+   * Use this for recursions over data that changes, such as a file system.
+   * 
+   * @see ExpiringFunctionCache */
+  public static <T, R> ExpiringFunctionCache<T, R> createExpiring(Duration expireAfterWrite) {
+    return ExpiringFunctionCache.create(expireAfterWrite, null, null);
+  }
+
+  /** Like {@link #createExpiring(Duration)}, but entries older than {@code refreshAfterWrite} are
+   * calculated again by the executor, while the old value is still returned. Only entries older
+   * than {@code expireAfterWrite} make the caller wait.
+   * 
+   * @see ExpiringFunctionCache */
+  public static <T, R> ExpiringFunctionCache<T, R> createRefreshing(Duration refreshAfterWrite,
+      Duration expireAfterWrite, Executor executor) {
+    return ExpiringFunctionCache.create(expireAfterWrite,
+        requireNonNull(refreshAfterWrite, "refreshAfterWrite"), executor);
+  }
+
+  /** Cache that only exists during one call from outside of the recursion. Its table is taken from
+   * a thread local pool and cleared and returned to the pool when the call returns. Each thread
+   * has its own table.
+   * 
+   * <p>
+   * Use this if the results are only needed during one call, such as a dynamic program over the
+   * input of one request. */
+  public static <T, R> FunctionCache<T, R> createScoped() {
+    return ScopedCaches.function();
+  }
+
+  /** Cache without contention. Each thread uses its own table and entries are shared only after
+   * they are merged into a read-only tier. Use 0 to only merge on demand.
+   * 
+   * @see ThreadLocalFunctionCache */
+  public static <T, R> ThreadLocalFunctionCache<T, R> createThreadLocal(int mergeThreshold) {
+    return new ThreadLocalFunctionCache<>(mergeThreshold);
+  }
+
+  /** Cache that only stores a fingerprint of each key, which is calculated by the given streaming
+   * hash. Use this for large keys, such as long lists or strings, so that the keys are neither
+   * stored nor compared.
+   * 
+   * @param fingerprint
+   *          hash of the key, such as {@link Fingerprint#ofList()}
+   * @param bits
+   *          64 or 128
+   * @param verify
+   *          whether the key is stored anyway, to throw an {@link IllegalStateException} on a
+   *          collision. Use this to test if a fingerprint is good enough.
+   * @see Fingerprint */
+  public static <T, R> FunctionCache<T, R> createFingerprinted(Fingerprint<? super T> fingerprint,
+      int bits, boolean verify) {
+    return FingerprintCaches.function(fingerprint, bits, verify);
+  }
+
+  /** Cache with a limited number of entries on the heap. Other entries are written to the given
+   * file, which is created or truncated, and read from there when they are used again. Use this
+   * when reading a value from disk is cheaper than calculating it again.
+   * 
+   * @param heapEntries
+   *          maximum number of entries on the heap
+   * @param file
+   *          the file of the disk tier. It is deleted by {@link SpillingFunctionCache#close()}.
+   * @param keys
+   *          serializer of the keys
+   * @param values
+   *          serializer of the values
+   * @throws IOException
+   *           if the file can't be created
+   * @see SpillingFunctionCache */
+  public static <T, R> SpillingFunctionCache<T, R> createSpilling(int heapEntries, Path file,
+      Serializer<T> keys, Serializer<R> values) throws IOException {
+    return new SpillingFunctionCache<>(heapEntries, file, keys, values);
+  }
+
+  /** Creates an immutable cache with the entries of the given map. Use this when the cache is
+   * warmed up and only read from then on. The entries are stored in sorted arrays, which use less
+   * memory than a {@link HashMap}. The cache is safely published, so all threads can use it without
+   * locking. Missing keys are calculated, but not stored.
+   * 
+   * <pre>
+   * Map&lt;Integer, Long&gt; map = new HashMap&lt;&gt;();
+   * Function&lt;Integer, Long&gt; f = Recursive.cachedFunction(body,
+   *     FunctionCache.create(() -&gt; map));
+   * // ... warm up ...
+   * Function&lt;Integer, Long&gt; g = Recursive.cachedFunction(body, FunctionCache.freeze(map));
+   * </pre>
+   * 
+   * @param map
+   *          the entries of a warm cache. It is copied.
+   * @see AdaptiveIntFunctionCache#freeze() */
+  public static <T, R> FunctionCache<T, R> freeze(Map<? extends T, ? extends R> map) {
+    return FrozenCaches.function(requireNonNull(map, "map"));
+  }
+
+  /** Cache that compares keys by identity, like {@link java.util.IdentityHashMap}. Use this for
+   * recursions over large immutable structures, such as syntax trees, where {@code equals} and
+   * {@code hashCode} of the keys are expensive. Each lookup is then constant time.
+   * 
+   * @param weakKeys
+   *          whether keys are only weakly referenced. Their entries are removed when the keys are
+   *          collected. A value must not reference its key, or the key is never collected.
+   * @return a cache using open addressing on the identity hash codes; not thread safe */
+  @SuppressWarnings("unchecked")
+  public static <T, R> FunctionCache<T, R> createIdentity(boolean weakKeys) {
+    final IdentityTable table = new IdentityTable(weakKeys, true);
+    return (t, s) -> {
+      final int i = table.find(t);
+      if (i >= 0)
+        return (R) table.object(i);
+      final R result = s.get();
+      table.putObject(t, result);
+      return result;
+    };
+  }
 }
@@ -0,0 +1,41 @@
+package ch.claude_martin.recursive.cache;
+
+/** Hash functions for the primitive caches of this package. Only {@link #mix(long)} is public, so
+ * that other hash tables of this library use the same mixer. */
+public final class Hashing {
+  private Hashing() {
+    throw new UnsupportedOperationException();
+  }
+
+  /** The bits used for all NaN values. */
+  private static final long NAN = 0x7ff8000000000000L;
+
+  /** The raw bits of a double, but all NaN values are mapped to the same bits. So {@code 0.0} and
+   * {@code -0.0} are different, but all NaN values are equal. */
+  static long bits(double d) {
+    return d != d ? NAN : Double.doubleToRawLongBits(d);
+  }
+
+  /** Bit mixer based on the finalizer of MurmurHash3. All input bits affect all output bits, so the
+   * lowest bits can be used for indexing a table with a size that is a power of two. */
+  public static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /** Mixes two 64 bit values to one hash code. The order is relevant. */
+  static long mix(long a, long b) {
+    return mix(a * 0x9e3779b97f4a7c15L + b);
+  }
+
+  /** The smallest power of two that is greater or equal to the given value, but at least 2. */
+  static int tableSize(long expected) {
+    if (expected > 1 << 30)
+      throw new IllegalArgumentException("capacity too large: " + expected);
+    return Math.max(2, Integer.highestOneBit((int) Math.max(1, expected - 1)) << 1);
+  }
+}
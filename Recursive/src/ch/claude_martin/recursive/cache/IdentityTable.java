@@ -0,0 +1,132 @@
+package ch.claude_martin.recursive.cache;
+
+import java.lang.ref.WeakReference;
+
+/** Hash table with open addressing (linear probing) that compares keys by identity and uses
+ * {@link System#identityHashCode(Object)}. So {@code equals} and {@code hashCode} of the keys are
+ * never called. Values are stored as {@code long} (use the raw bits for other primitive types) or
+ * as objects.
+ * 
+ * <p>
+ * Weak keys are held by {@link WeakReference}s. The slots of collected keys are removed when the
+ * table is rebuilt, which happens when it is half full. If at most a quarter of the entries are
+ * still alive, the table keeps its size.
+ * 
+ * <p>
+ * This is not thread safe. */
+final class IdentityTable {
+  /** Used for the key {@code null}. */
+  private static final Object NULL = new Object();
+
+  private final boolean weak;
+  private final boolean objects;
+  /** The keys, or weak references to them. {@code null} marks a free slot. */
+  private Object[] keys;
+  private long[] values;
+  private Object[] objectValues;
+  private int mask;
+  /** Number of used slots, including collected keys. */
+  private int used;
+
+  IdentityTable(boolean weak, boolean objects) {
+    this.weak = weak;
+    this.objects = objects;
+    this.allocate(64);
+  }
+
+  private void allocate(int length) {
+    this.keys = new Object[length];
+    if (this.objects)
+      this.objectValues = new Object[length];
+    else
+      this.values = new long[length];
+    this.mask = length - 1;
+    this.used = 0;
+  }
+
+  private static int hash(Object key) {
+    return (int) Hashing.mix(System.identityHashCode(key));
+  }
+
+  private Object keyAt(int i) {
+    final Object k = this.keys[i];
+    return this.weak ? ((WeakReference<?>) k).get() : k;
+  }
+
+  /** Index of the key or -1. The index is only valid until the next put. */
+  int find(Object key) {
+    if (key == null)
+      key = NULL;
+    for (int i = hash(key) & this.mask; this.keys[i] != null; i = (i + 1) & this.mask)
+      if (this.keyAt(i) == key)
+        return i;
+    return -1;
+  }
+
+  long value(int index) {
+    return this.values[index];
+  }
+
+  Object object(int index) {
+    return this.objectValues[index];
+  }
+
+  void put(Object key, long value) {
+    // slot() might rebuild the table, so it must be called before the array is read.
+    final int i = this.slot(key == null ? NULL : key);
+    this.values[i] = value;
+  }
+
+  void putObject(Object key, Object value) {
+    final int i = this.slot(key == null ? NULL : key);
+    this.objectValues[i] = value;
+  }
+
+  /** Finds or creates the slot of the key. */
+  private int slot(Object key) {
+    int i = hash(key) & this.mask;
+    for (; this.keys[i] != null; i = (i + 1) & this.mask)
+      if (this.keyAt(i) == key)
+        return i;
+    if (this.used + 1 > this.keys.length / 2) {
+      this.rebuild();
+      return this.slot(key);
+    }
+    this.keys[i] = this.weak ? new WeakReference<>(key) : key;
+    this.used++;
+    return i;
+  }
+
+  /** Copies all entries with live keys to a new table. */
+  private void rebuild() {
+    final Object[] ks = this.keys, os = this.objectValues;
+    final long[] vs = this.values;
+    int live = 0;
+    for (int i = 0; i < ks.length; i++)
+      if (ks[i] != null && this.keyAt(i) != null)
+        live++;
+    this.allocate(live > ks.length / 4 ? ks.length << 1 : ks.length);
+    for (int j = 0; j < ks.length; j++) {
+      if (ks[j] == null)
+        continue;
+      final Object key = this.weak ? ((WeakReference<?>) ks[j]).get() : ks[j];
+      if (key == null)
+        continue;
+      int i = hash(key) & this.mask;
+      while (this.keys[i] != null)
+        i = (i + 1) & this.mask;
+      // the same reference can be used again.
+      this.keys[i] = ks[j];
+      if (this.objects)
+        this.objectValues[i] = os[j];
+      else
+        this.values[i] = vs[j];
+      this.used++;
+    }
+  }
+
+  /** Number of entries, including those with collected keys. */
+  int size() {
+    return this.used;
+  }
+}
@@ -0,0 +1,113 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/** A cache that knows which entries were used to calculate each entry. When an entry is
+ * {@link #invalidate(Object) invalidated} all entries that depend on it are removed as well, while
+ * all others remain. The next call will then only calculate the removed entries.
+ * 
+ * <p>
+ * Dependencies are recorded when the recursive function calls "self" while it calculates a value,
+ * because each such call uses this cache. Use this when the function reads external data that can
+ * change. Invalidate the keys that read the changed data.
+ * 
+ * <p>
+ * This is not thread safe. Do not invalidate while a value is being calculated.
+ *
+ * @see FunctionCache#createIncremental() */
+public final class IncrementalFunctionCache<T, R> implements FunctionCache<T, R> {
+  private static final class Node<T, R> {
+    final T key;
+    R value;
+    boolean known;
+    /** Nodes that used this node. */
+    final Set<Node<T, R>> dependents = new HashSet<>();
+    /** Nodes that were used by this node. */
+    final Set<Node<T, R>> dependencies = new HashSet<>();
+
+    Node(T key) {
+      this.key = key;
+    }
+  }
+
+  private final Map<T, Node<T, R>> nodes = new HashMap<>();
+  /** Nodes that are being calculated. The top is the one that called the cache. */
+  private final Deque<Node<T, R>> stack = new ArrayDeque<>();
+
+  IncrementalFunctionCache() {
+  }
+
+  @Override
+  public R get(T key, Supplier<R> supplier) {
+    Node<T, R> node = this.nodes.get(key);
+    if (node == null)
+      this.nodes.put(key, node = new Node<>(key));
+    final Node<T, R> caller = this.stack.peek();
+    if (caller != null && caller != node) {
+      node.dependents.add(caller);
+      caller.dependencies.add(node);
+    }
+    if (node.known)
+      return node.value;
+    this.stack.push(node);
+    final R result;
+    try {
+      result = supplier.get();
+    } finally {
+      this.stack.pop();
+    }
+    node.value = result;
+    node.known = true;
+    return result;
+  }
+
+  /** Removes the entry of the key and all entries that depend on it, directly or indirectly.
+   * 
+   * @return number of removed entries */
+  public int invalidate(T key) {
+    final Node<T, R> start = this.nodes.get(key);
+    if (start == null)
+      return 0;
+    if (!this.stack.isEmpty())
+      throw new IllegalStateException("Can't invalidate while a value is calculated.");
+    int count = 0;
+    final Deque<Node<T, R>> todo = new ArrayDeque<>();
+    final Set<Node<T, R>> seen = new HashSet<>();
+    todo.add(start);
+    seen.add(start);
+    while (!todo.isEmpty()) {
+      final Node<T, R> node = todo.poll();
+      for (final Node<T, R> d : node.dependents)
+        if (seen.add(d))
+          todo.add(d);
+      for (final Node<T, R> d : node.dependencies)
+        d.dependents.remove(node);
+      this.nodes.remove(node.key);
+      if (node.known)
+        count++;
+    }
+    return count;
+  }
+
+  /** Removes all entries. */
+  public void clear() {
+    if (!this.stack.isEmpty())
+      throw new IllegalStateException("Can't clear while a value is calculated.");
+    this.nodes.clear();
+  }
+
+  /** Number of cached entries. */
+  public int size() {
+    int count = 0;
+    for (final Node<T, R> node : this.nodes.values())
+      if (node.known)
+        count++;
+    return count;
+  }
+}
@@ -0,0 +1,25 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.function.Supplier;
+
+@FunctionalInterface
+public interface Int3FunctionCache<R> {
+  public R get(int a, int b, int c, Supplier<R> supplier);
+
+  /** Creates a cache that is backed by one flat array. Each argument is allowed from 0 to the given
+   * maximum (both inclusive). */
+  @SuppressWarnings("unchecked")
+  public static <R> Int3FunctionCache<R> create(int max1, int max2, int max3) {
+    final DenseIndex index = new DenseIndex(max1, max2, max3);
+    final Object[] values = new Object[index.size()];
+    return (a, b, c, s) -> {
+      final int i = index.of(a, b, c);
+      if (index.isKnown(i))
+        return (R) values[i];
+      final R result = s.get();
+      values[i] = result;
+      index.setKnown(i);
+      return result;
+    };
+  }
+}
@@ -0,0 +1,24 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.function.DoubleSupplier;
+
+@FunctionalInterface
+public interface Int3ToDoubleFunctionCache {
+  public double get(int a, int b, int c, DoubleSupplier supplier);
+
+  /** Creates a cache that is backed by one flat array. Each argument is allowed from 0 to the given
+   * maximum (both inclusive). */
+  public static Int3ToDoubleFunctionCache create(int max1, int max2, int max3) {
+    final DenseIndex index = new DenseIndex(max1, max2, max3);
+    final double[] values = new double[index.size()];
+    return (a, b, c, s) -> {
+      final int i = index.of(a, b, c);
+      if (index.isKnown(i))
+        return values[i];
+      final double result = s.getAsDouble();
+      values[i] = result;
+      index.setKnown(i);
+      return result;
+    };
+  }
+}
@@ -0,0 +1,25 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.function.Supplier;
+
+@FunctionalInterface
+public interface Int4FunctionCache<R> {
+  public R get(int a, int b, int c, int d, Supplier<R> supplier);
+
+  /** Creates a cache that is backed by one flat array. Each argument is allowed from 0 to the given
+   * maximum (both inclusive). */
+  @SuppressWarnings("unchecked")
+  public static <R> Int4FunctionCache<R> create(int max1, int max2, int max3, int max4) {
+    final DenseIndex index = new DenseIndex(max1, max2, max3, max4);
+    final Object[] values = new Object[index.size()];
+    return (a, b, c, d, s) -> {
+      final int i = index.of(a, b, c, d);
+      if (index.isKnown(i))
+        return (R) values[i];
+      final R result = s.get();
+      values[i] = result;
+      index.setKnown(i);
+      return result;
+    };
+  }
+}
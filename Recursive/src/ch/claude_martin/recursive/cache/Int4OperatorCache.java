@@ -0,0 +1,24 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.function.IntSupplier;
+
+@FunctionalInterface
+public interface Int4OperatorCache {
+  public int get(int a, int b, int c, int d, IntSupplier supplier);
+
+  /** Creates a cache that is backed by one flat array. Each argument is allowed from 0 to the given
+   * maximum (both inclusive). */
+  public static Int4OperatorCache create(int max1, int max2, int max3, int max4) {
+    final DenseIndex index = new DenseIndex(max1, max2, max3, max4);
+    final int[] values = new int[index.size()];
+    return (a, b, c, d, s) -> {
+      final int i = index.of(a, b, c, d);
+      if (index.isKnown(i))
+        return values[i];
+      final int result = s.getAsInt();
+      values[i] = result;
+      index.setKnown(i);
+      return result;
+    };
+  }
+}
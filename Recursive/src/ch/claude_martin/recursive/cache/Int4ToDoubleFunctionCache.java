@@ -0,0 +1,24 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.function.DoubleSupplier;
+
+@FunctionalInterface
+public interface Int4ToDoubleFunctionCache {
+  public double get(int a, int b, int c, int d, DoubleSupplier supplier);
+
+  /** Creates a cache that is backed by one flat array. Each argument is allowed from 0 to the given
+   * maximum (both inclusive). */
+  public static Int4ToDoubleFunctionCache create(int max1, int max2, int max3, int max4) {
+    final DenseIndex index = new DenseIndex(max1, max2, max3, max4);
+    final double[] values = new double[index.size()];
+    return (a, b, c, d, s) -> {
+      final int i = index.of(a, b, c, d);
+      if (index.isKnown(i))
+        return values[i];
+      final double result = s.getAsDouble();
+      values[i] = result;
+      index.setKnown(i);
+      return result;
+    };
+  }
+}
@@ -0,0 +1,24 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.function.LongSupplier;
+
+@FunctionalInterface
+public interface Int4ToLongFunctionCache {
+  public long get(int a, int b, int c, int d, LongSupplier supplier);
+
+  /** Creates a cache that is backed by one flat array. Each argument is allowed from 0 to the given
+   * maximum (both inclusive). */
+  public static Int4ToLongFunctionCache create(int max1, int max2, int max3, int max4) {
+    final DenseIndex index = new DenseIndex(max1, max2, max3, max4);
+    final long[] values = new long[index.size()];
+    return (a, b, c, d, s) -> {
+      final int i = index.of(a, b, c, d);
+      if (index.isKnown(i))
+        return values[i];
+      final long result = s.getAsLong();
+      values[i] = result;
+      index.setKnown(i);
+      return result;
+    };
+  }
+}
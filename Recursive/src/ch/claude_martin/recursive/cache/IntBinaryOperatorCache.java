@@ -1,5 +1,7 @@
 package ch.claude_martin.recursive.cache;
 
+import static java.util.Objects.requireNonNull;
+
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.function.BiFunction;
@@ -13,6 +15,61 @@ public interface IntBinaryOperatorCache {
   public static IntBinaryOperatorCache create() {
     final Map<Long, Integer> map = new TreeMap<>();
     final BiFunction<Integer, Integer, Long> i2l = (a, b) -> ((long) a << 32) + (long) b;
-    return (a, b, s) -> map.computeIfAbsent(i2l.apply(a, b), x -> s.getAsInt());
+    return (a, b, s) -> MapCaches.get(map, i2l.apply(a, b), s::getAsInt);
+  }
+
+  /** Creates a cache that is backed by one flat array. Both arguments are allowed from 0 to the
+   * given maximum (both inclusive). */
+  public static IntBinaryOperatorCache create(int maxLeft, int maxRight) {
+    final DenseIndex index = new DenseIndex(maxLeft, maxRight, 0);
+    final int[] values = new int[index.size()];
+    return (a, b, s) -> {
+      final int i = index.of(a, b, 0);
+      if (index.isKnown(i))
+        return values[i];
+      final int result = s.getAsInt();
+      values[i] = result;
+      index.setKnown(i);
+      return result;
+    };
+  }
+
+  /** A cache for commutative operators, where {@code f(a, b) == f(b, a)}. The arguments are passed
+   * to the given cache in natural order, so both orders use the same entry.
+   * 
+   * @param cache
+   *          the cache that gets the smaller argument as {@code left} */
+  public static IntBinaryOperatorCache commutative(IntBinaryOperatorCache cache) {
+    requireNonNull(cache, "cache");
+    return (a, b, s) -> a <= b ? cache.get(a, b, s) : cache.get(b, a, s);
+  }
+
+  /** Creates a cache for commutative operators that only stores the triangle of the table where
+   * {@code left <= right}. Both arguments are allowed from 0 to the given maximum (both
+   * inclusive). This uses about half the memory of {@link #create(int, int)}.
+   * 
+   * @see #commutative(IntBinaryOperatorCache) */
+  public static IntBinaryOperatorCache createCommutative(int max) {
+    if (max < 0)
+      throw new IllegalArgumentException("max=" + max);
+    final long size = ((long) max + 1) * ((long) max + 2) / 2;
+    if (size > Integer.MAX_VALUE - 8)
+      throw new IllegalArgumentException("max=" + max);
+    final int[] values = new int[(int) size];
+    final long[] known = new long[(int) ((size + 63) >>> 6)];
+    return (a, b, s) -> {
+      final int lo = Math.min(a, b), hi = Math.max(a, b);
+      if (lo < 0 || hi > max)
+        throw new IllegalArgumentException("(" + a + ", " + b
+            + ") is not in bounds of used cache for IntBinaryOperator.");
+      // row hi of the triangle starts at hi * (hi + 1) / 2
+      final int i = (int) ((long) hi * (hi + 1) / 2 + lo);
+      if ((known[i >>> 6] & 1L << i) != 0)
+        return values[i];
+      final int result = s.getAsInt();
+      values[i] = result;
+      known[i >>> 6] |= 1L << i;
+      return result;
+    };
   }
 }
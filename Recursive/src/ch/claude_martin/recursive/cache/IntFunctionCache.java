@@ -15,10 +15,13 @@ public interface IntFunctionCache<R> {
       throw new IllegalArgumentException(String.format("min=%d; max=%d", min, max));
     final int size = Math.abs(max + 1 - min);
     final Object nil = new Object();
-    final Object[] rs = new Object[size];
-    Arrays.fill(rs, nil);
-
+    final Supplier<Object[]> storage = CacheRegistry.global().array(() -> {
+      final Object[] rs = new Object[size];
+      Arrays.fill(rs, nil);
+      return rs;
+    }, 16L + 4L * size);
     return (i, s) -> {
+      final Object[] rs = storage.get();
       try {
         final Object cached = rs[i - min];
         if (cached == nil)
@@ -31,4 +34,20 @@ public interface IntFunctionCache<R> {
     };
   }
 
+  /** Creates a cache that allows any input. It starts as a hash table and changes to an array when
+   * the keys turn out to be dense.
+   * 
+   * @see AdaptiveIntFunctionCache */
+  public static <R> AdaptiveIntFunctionCache<R> createAdaptive() {
+    return new AdaptiveIntFunctionCache<>();
+  }
+
+  /** Cache that only exists during one call from outside of the recursion. Its array is taken from
+   * a thread local pool and cleared and returned to the pool when the call returns. Each thread
+   * has its own array. Input is allowed from the given range (both inclusive).
+   * 
+   * @see FunctionCache#createScoped() */
+  public static <R> IntFunctionCache<R> createScoped(int min, int max) {
+    return ScopedCaches.intFunction(min, max);
+  }
 }
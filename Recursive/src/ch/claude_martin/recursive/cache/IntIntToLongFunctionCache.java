@@ -0,0 +1,23 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.function.LongSupplier;
+
+@FunctionalInterface
+public interface IntIntToLongFunctionCache {
+  public long get(int left, int right, LongSupplier supplier);
+
+  /** Creates a cache that is backed by a hash table of primitive keys and values. */
+  public static IntIntToLongFunctionCache create() {
+    return PairCaches.intIntToLongFunction(new LongPairTable(64, false, false));
+  }
+
+  /** Like {@link #create()}, but the table never grows beyond the given capacity, rounded up to a
+   * power of two. When it is full new entries replace old ones, which then have to be calculated
+   * again.
+   * 
+   * @param capacity
+   *          maximum number of cached entries */
+  public static IntIntToLongFunctionCache createBounded(int capacity) {
+    return PairCaches.intIntToLongFunction(new LongPairTable(capacity, true, false));
+  }
+}
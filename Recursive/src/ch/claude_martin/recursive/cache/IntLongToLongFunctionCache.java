@@ -0,0 +1,23 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.function.LongSupplier;
+
+@FunctionalInterface
+public interface IntLongToLongFunctionCache {
+  public long get(int left, long right, LongSupplier supplier);
+
+  /** Creates a cache that is backed by a hash table of primitive keys and values. */
+  public static IntLongToLongFunctionCache create() {
+    return PairCaches.intLongToLongFunction(new LongPairTable(64, false, false));
+  }
+
+  /** Like {@link #create()}, but the table never grows beyond the given capacity, rounded up to a
+   * power of two. When it is full new entries replace old ones, which then have to be calculated
+   * again.
+   * 
+   * @param capacity
+   *          maximum number of cached entries */
+  public static IntLongToLongFunctionCache createBounded(int capacity) {
+    return PairCaches.intLongToLongFunction(new LongPairTable(capacity, true, false));
+  }
+}
@@ -1,35 +1,21 @@
 package ch.claude_martin.recursive.cache;
 
-import java.util.Arrays;
 import java.util.function.BooleanSupplier;
 
 @FunctionalInterface
 public interface IntPredicateCache {
   public boolean get(int key, BooleanSupplier supplier);
 
-  /** Creates a cache that allows input from the given range (both inclusive). */
+  /** Creates a cache that allows input from the given range (both inclusive). Each key uses two
+   * bits. */
   public static IntPredicateCache create(int min, int max) {
     if (min >= max)
       throw new IllegalArgumentException(String.format("min=%d; max=%d", min, max));
-    final int size = Math.abs(max + 1 - min);
-    final byte nil = -1;
-    final byte[] bools = new byte[size];
-    Arrays.fill(bools, nil);
-
+    final PredicateBits bits = new PredicateBits((long) max + 1 - min);
     return (v, s) -> {
-      try {
-        final byte cached = bools[v - min];
-        if (cached == nil) {
-          final boolean result = s.getAsBoolean();
-          bools[v - min] = (byte) (result ? 1 : 0);
-          return result;
-        }
-        return cached == 1 ? true : false;
-      } catch (final ArrayIndexOutOfBoundsException e) {
-        throw new IllegalArgumentException(v + " is not in bounds of used cache for IntPredicate.",
-            e);
-      }
+      if (v < min || v > max)
+        throw new IllegalArgumentException(v + " is not in bounds of used cache for IntPredicate.");
+      return bits.get(v - min, s);
     };
-
   }
 }
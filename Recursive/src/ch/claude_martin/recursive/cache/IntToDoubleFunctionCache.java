@@ -2,6 +2,7 @@ package ch.claude_martin.recursive.cache;
 
 import java.util.Arrays;
 import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
 
 @FunctionalInterface
 public interface IntToDoubleFunctionCache {
@@ -13,9 +14,13 @@ public interface IntToDoubleFunctionCache {
       throw new IllegalArgumentException(String.format("min=%d; max=%d", min, max));
     final int size = Math.abs(max + 1 - min);
     final double nil = Double.MIN_VALUE + 1234;
-    final double[] doubles = new double[size];
-    Arrays.fill(doubles, nil);
+    final Supplier<double[]> storage = CacheRegistry.global().array(() -> {
+      final double[] doubles = new double[size];
+      Arrays.fill(doubles, nil);
+      return doubles;
+    }, 16L + 8L * size);
     final IntToDoubleFunctionCache cache = (v, s) -> {
+      final double[] doubles = storage.get();
       try {
         final double cached = doubles[v - min];
         if (cached == nil)
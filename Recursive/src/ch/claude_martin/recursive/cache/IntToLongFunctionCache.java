@@ -2,6 +2,7 @@ package ch.claude_martin.recursive.cache;
 
 import java.util.Arrays;
 import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 @FunctionalInterface
 public interface IntToLongFunctionCache {
@@ -13,9 +14,13 @@ public interface IntToLongFunctionCache {
       throw new IllegalArgumentException(String.format("min=%d; max=%d", min, max));
     final int size = Math.abs(max + 1 - min);
     final long nil = Long.MIN_VALUE + 1234;
-    final long[] longs = new long[size];
-    Arrays.fill(longs, nil);
+    final Supplier<long[]> storage = CacheRegistry.global().array(() -> {
+      final long[] longs = new long[size];
+      Arrays.fill(longs, nil);
+      return longs;
+    }, 16L + 8L * size);
     return (v, s) -> {
+      final long[] longs = storage.get();
       try {
         final long cached = longs[v - min];
         if (cached == nil)
@@ -27,4 +32,22 @@ public interface IntToLongFunctionCache {
       }
     };
   }
+
+  /** Cache that only exists during one call from outside of the recursion. Its array is taken from
+   * a thread local pool and returned to the pool when the call returns. Clearing it is O(1), using
+   * generation stamps. Each thread has its own array. Input is allowed from the given range (both
+   * inclusive).
+   * 
+   * @see FunctionCache#createScoped() */
+  public static IntToLongFunctionCache createScoped(int min, int max) {
+    return ScopedCaches.intToLongFunction(min, max);
+  }
+
+  /** Cache without contention. Each thread uses its own table and entries are shared only after
+   * they are merged into a read-only tier. Use 0 to only merge on demand.
+   * 
+   * @see ThreadLocalIntToLongFunctionCache */
+  public static ThreadLocalIntToLongFunctionCache createThreadLocal(int mergeThreshold) {
+    return new ThreadLocalIntToLongFunctionCache(mergeThreshold);
+  }
 }
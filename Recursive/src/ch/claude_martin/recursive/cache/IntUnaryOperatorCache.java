@@ -2,6 +2,7 @@ package ch.claude_martin.recursive.cache;
 
 import java.util.Arrays;
 import java.util.function.IntSupplier;
+import java.util.function.Supplier;
 
 @FunctionalInterface
 public interface IntUnaryOperatorCache {
@@ -13,10 +14,13 @@ public interface IntUnaryOperatorCache {
       throw new IllegalArgumentException(String.format("min=%d; max=%d", min, max));
     final int size = Math.abs(max + 1 - min);
     final int nil = min - 1;
-    final int[] ints = new int[size];
-    Arrays.fill(ints, nil);
-
+    final Supplier<int[]> storage = CacheRegistry.global().array(() -> {
+      final int[] ints = new int[size];
+      Arrays.fill(ints, nil);
+      return ints;
+    }, 16L + 4L * size);
     return (v, s) -> {
+      final int[] ints = storage.get();
       try {
         final int cached = ints[v - min];
         if (cached == nil)
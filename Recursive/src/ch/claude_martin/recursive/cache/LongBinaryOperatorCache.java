@@ -1,8 +1,34 @@
 package ch.claude_martin.recursive.cache;
 
+import static java.util.Objects.requireNonNull;
+
 import java.util.function.LongSupplier;
 
 @FunctionalInterface
 public interface LongBinaryOperatorCache {
   public long get(long left, long right, LongSupplier supplier);
+
+  /** Creates a cache that is backed by a hash table of primitive keys and values. */
+  public static LongBinaryOperatorCache create() {
+    return PairCaches.longBinaryOperator(new LongPairTable(64, false, false));
+  }
+
+  /** Like {@link #create()}, but the table never grows beyond the given capacity, rounded up to a
+   * power of two. When it is full new entries replace old ones, which then have to be calculated
+   * again.
+   * 
+   * @param capacity
+   *          maximum number of cached entries */
+  public static LongBinaryOperatorCache createBounded(int capacity) {
+    return PairCaches.longBinaryOperator(new LongPairTable(capacity, true, false));
+  }
+
+  /** A cache for commutative operators, where {@code f(a, b) == f(b, a)}. The arguments are passed
+   * to the given cache in natural order, so both orders use the same entry.
+   * 
+   * @see IntBinaryOperatorCache#commutative(IntBinaryOperatorCache) */
+  public static LongBinaryOperatorCache commutative(LongBinaryOperatorCache cache) {
+    requireNonNull(cache, "cache");
+    return (a, b, s) -> a <= b ? cache.get(a, b, s) : cache.get(b, a, s);
+  }
 }
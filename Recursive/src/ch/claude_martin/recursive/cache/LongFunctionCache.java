@@ -1,8 +1,23 @@
 package ch.claude_martin.recursive.cache;
 
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
 import java.util.function.Supplier;
 
 @FunctionalInterface
 public interface LongFunctionCache<R> {
   public R get(long key, Supplier<R> supplier);
+
+  /** Creates an immutable cache with the entries of the given map. The keys are stored in a sorted
+   * array of primitive values.
+   * 
+   * @param map
+   *          the entries of a warm cache. It is copied.
+   * @throws NullPointerException
+   *           if the map contains the key {@code null}
+   * @see FunctionCache#freeze(Map) */
+  public static <R> LongFunctionCache<R> freeze(Map<Long, ? extends R> map) {
+    return FrozenCaches.longFunction(requireNonNull(map, "map"));
+  }
 }
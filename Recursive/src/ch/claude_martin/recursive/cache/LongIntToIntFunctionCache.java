@@ -0,0 +1,23 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.function.IntSupplier;
+
+@FunctionalInterface
+public interface LongIntToIntFunctionCache {
+  public int get(long left, int right, IntSupplier supplier);
+
+  /** Creates a cache that is backed by a hash table of primitive keys and values. */
+  public static LongIntToIntFunctionCache create() {
+    return PairCaches.longIntToIntFunction(new LongPairTable(64, false, false));
+  }
+
+  /** Like {@link #create()}, but the table never grows beyond the given capacity, rounded up to a
+   * power of two. When it is full new entries replace old ones, which then have to be calculated
+   * again.
+   * 
+   * @param capacity
+   *          maximum number of cached entries */
+  public static LongIntToIntFunctionCache createBounded(int capacity) {
+    return PairCaches.longIntToIntFunction(new LongPairTable(capacity, true, false));
+  }
+}
@@ -0,0 +1,23 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.function.Supplier;
+
+@FunctionalInterface
+public interface LongLongFunctionCache<R> {
+  public R get(long left, long right, Supplier<R> supplier);
+
+  /** Creates a cache that is backed by a hash table of primitive keys. The values are objects. */
+  public static <R> LongLongFunctionCache<R> create() {
+    return PairCaches.longLongFunction(new LongPairTable(64, false, true));
+  }
+
+  /** Like {@link #create()}, but the table never grows beyond the given capacity, rounded up to a
+   * power of two. When it is full new entries replace old ones, which then have to be calculated
+   * again.
+   * 
+   * @param capacity
+   *          maximum number of cached entries */
+  public static <R> LongLongFunctionCache<R> createBounded(int capacity) {
+    return PairCaches.longLongFunction(new LongPairTable(capacity, true, true));
+  }
+}
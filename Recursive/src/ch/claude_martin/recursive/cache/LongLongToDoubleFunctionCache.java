@@ -0,0 +1,23 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.function.DoubleSupplier;
+
+@FunctionalInterface
+public interface LongLongToDoubleFunctionCache {
+  public double get(long left, long right, DoubleSupplier supplier);
+
+  /** Creates a cache that is backed by a hash table of primitive keys and values. */
+  public static LongLongToDoubleFunctionCache create() {
+    return PairCaches.longLongToDoubleFunction(new LongPairTable(64, false, false));
+  }
+
+  /** Like {@link #create()}, but the table never grows beyond the given capacity, rounded up to a
+   * power of two. When it is full new entries replace old ones, which then have to be calculated
+   * again.
+   * 
+   * @param capacity
+   *          maximum number of cached entries */
+  public static LongLongToDoubleFunctionCache createBounded(int capacity) {
+    return PairCaches.longLongToDoubleFunction(new LongPairTable(capacity, true, false));
+  }
+}
@@ -0,0 +1,62 @@
+package ch.claude_martin.recursive.cache;
+
+/** Minimal hash table with primitive {@code long} keys and open addressing (linear probing). There
+ * is no removal.
+ * 
+ * <p>
+ * This is not thread safe. */
+final class LongObjectTable<V> {
+  private long[] keys;
+  private Object[] values;
+  private int mask;
+  private int size;
+
+  LongObjectTable(int capacity) {
+    this.allocate(Hashing.tableSize(2L * capacity));
+  }
+
+  private void allocate(int length) {
+    this.keys = new long[length];
+    this.values = new Object[length];
+    this.mask = length - 1;
+    this.size = 0;
+  }
+
+  /** The value of the key or {@code null}. */
+  @SuppressWarnings("unchecked")
+  V get(long key) {
+    final int mask = this.mask;
+    for (int i = (int) Hashing.mix(key) & mask; this.values[i] != null; i = (i + 1) & mask)
+      if (this.keys[i] == key)
+        return (V) this.values[i];
+    return null;
+  }
+
+  /** Sets the value of the key. The value must not be {@code null}. */
+  void put(long key, V value) {
+    int i = (int) Hashing.mix(key) & this.mask;
+    for (; this.values[i] != null; i = (i + 1) & this.mask)
+      if (this.keys[i] == key) {
+        this.values[i] = value;
+        return;
+      }
+    this.keys[i] = key;
+    this.values[i] = value;
+    if (++this.size > this.values.length / 2)
+      this.resize();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void resize() {
+    final long[] ks = this.keys;
+    final Object[] vs = this.values;
+    this.allocate(vs.length << 1);
+    for (int i = 0; i < vs.length; i++)
+      if (vs[i] != null)
+        this.put(ks[i], (V) vs[i]);
+  }
+
+  int size() {
+    return this.size;
+  }
+}
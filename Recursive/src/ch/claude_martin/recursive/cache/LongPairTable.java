@@ -0,0 +1,145 @@
+package ch.claude_martin.recursive.cache;
+
+/** Hash table with open addressing (linear probing) for keys of two {@code long} values. Values are
+ * stored as {@code long} (use the raw bits for other primitive types) or as objects. No boxing is
+ * done.
+ * 
+ * <p>
+ * When bounded, the table never grows. A new entry then replaces an existing entry if there is no
+ * free slot close to its hash position.
+ * 
+ * <p>
+ * This is not thread safe. */
+final class LongPairTable {
+  /** Maximum number of probed slots for bounded tables. */
+  private static final int MAX_PROBES = 8;
+
+  private final boolean bounded;
+  private final boolean objects;
+  private long[] lefts;
+  private long[] rights;
+  private long[] values;
+  private Object[] objectValues;
+  private boolean[] used;
+  private int mask;
+  private int size;
+
+  /** @param capacity
+   *          expected (or maximum, if bounded) number of entries
+   * @param bounded
+   *          whether the table has a fixed size
+   * @param objects
+   *          whether values are objects */
+  LongPairTable(int capacity, boolean bounded, boolean objects) {
+    if (capacity < 1)
+      throw new IllegalArgumentException("capacity=" + capacity);
+    this.bounded = bounded;
+    this.objects = objects;
+    // unbounded tables are resized at 50% load.
+    this.allocate(Hashing.tableSize(bounded ? capacity : 2L * capacity));
+  }
+
+  private void allocate(int length) {
+    this.lefts = new long[length];
+    this.rights = new long[length];
+    if (this.objects)
+      this.objectValues = new Object[length];
+    else
+      this.values = new long[length];
+    this.used = new boolean[length];
+    this.mask = length - 1;
+    this.size = 0;
+  }
+
+  /** Index of the key or -1. The index is only valid until the next {@link #put}. */
+  int find(long l, long r) {
+    final int limit = this.bounded ? MAX_PROBES : this.used.length;
+    int i = (int) Hashing.mix(l, r) & this.mask;
+    for (int p = 0; p < limit && this.used[i]; p++, i = (i + 1) & this.mask)
+      if (this.lefts[i] == l && this.rights[i] == r)
+        return i;
+    return -1;
+  }
+
+  long value(int index) {
+    return this.values[index];
+  }
+
+  Object object(int index) {
+    return this.objectValues[index];
+  }
+
+  /** Number of slots. Each index below is either {@link #isUsed(int) used} or free. */
+  int length() {
+    return this.used.length;
+  }
+
+  boolean isUsed(int index) {
+    return this.used[index];
+  }
+
+  long left(int index) {
+    return this.lefts[index];
+  }
+
+  long right(int index) {
+    return this.rights[index];
+  }
+
+  void put(long l, long r, long value) {
+    // slot() might resize the table, so it must be called before the array is read.
+    final int i = this.slot(l, r);
+    this.values[i] = value;
+  }
+
+  void putObject(long l, long r, Object value) {
+    final int i = this.slot(l, r);
+    this.objectValues[i] = value;
+  }
+
+  /** Finds or creates the slot of the key. */
+  private int slot(long l, long r) {
+    final int home = (int) Hashing.mix(l, r) & this.mask;
+    final int limit = this.bounded ? MAX_PROBES : this.used.length;
+    int i = home;
+    for (int p = 0; p < limit; p++, i = (i + 1) & this.mask) {
+      if (!this.used[i]) {
+        if (!this.bounded && this.size + 1 > this.used.length / 2) {
+          this.resize();
+          return this.slot(l, r);
+        }
+        this.used[i] = true;
+        this.lefts[i] = l;
+        this.rights[i] = r;
+        this.size++;
+        return i;
+      }
+      if (this.lefts[i] == l && this.rights[i] == r)
+        return i;
+    }
+    // Only bounded tables get here: replace the entry at the hash position.
+    this.lefts[home] = l;
+    this.rights[home] = r;
+    return home;
+  }
+
+  private void resize() {
+    final long[] ls = this.lefts, rs = this.rights, vs = this.values;
+    final Object[] os = this.objectValues;
+    final boolean[] us = this.used;
+    this.allocate(us.length << 1);
+    for (int i = 0; i < us.length; i++)
+      if (us[i]) {
+        final int slot = this.slot(ls[i], rs[i]);
+        if (this.objects)
+          this.objectValues[slot] = os[i];
+        else
+          this.values[slot] = vs[i];
+      }
+  }
+
+  /** Number of entries. */
+  int size() {
+    return this.size;
+  }
+}
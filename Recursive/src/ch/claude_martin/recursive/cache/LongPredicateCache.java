@@ -6,4 +6,24 @@ import java.util.function.BooleanSupplier;
 public interface LongPredicateCache {
   public boolean get(long key, BooleanSupplier supplier);
 
+  /** Creates a cache that allows input from the given range (both inclusive). Each key uses two
+   * bits. The range can't be larger than about 68 billion keys. */
+  public static LongPredicateCache create(long min, long max) {
+    if (min >= max || max - min < 0)
+      throw new IllegalArgumentException(String.format("min=%d; max=%d", min, max));
+    final PredicateBits bits = new PredicateBits(max + 1 - min);
+    return (v, s) -> {
+      if (v < min || v > max)
+        throw new IllegalArgumentException(v
+            + " is not in bounds of used cache for LongPredicate.");
+      return bits.get(v - min, s);
+    };
+  }
+
+  /** Creates a cache that allows any input. Keys are grouped in chunks of 65536. A chunk with few
+   * keys is stored as a sorted array, and as a bitmap with two bits per key when it gets dense.
+   * Memory usage depends on the number of cached keys, not on their range. */
+  public static LongPredicateCache createSparse() {
+    return new SparsePredicateCache()::get;
+  }
 }
@@ -0,0 +1,31 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/** Memoization with a {@link Map}.
+ * 
+ * <p>
+ * {@link Map#computeIfAbsent(Object, java.util.function.Function) computeIfAbsent} can't be used
+ * because the supplier usually calls the cache again. {@link java.util.HashMap HashMap} and
+ * {@link java.util.TreeMap TreeMap} then throw a {@link java.util.ConcurrentModificationException}
+ * and {@link java.util.concurrent.ConcurrentHashMap ConcurrentHashMap} might even deadlock. */
+final class MapCaches {
+  private MapCaches() {
+    throw new UnsupportedOperationException();
+  }
+
+  /** Returns the value of the key or calculates and adds it. This is thread safe if the map is,
+   * but the value might then be calculated more than once. All callers still get the same value.
+   * {@code null} is never added to the map. */
+  static <K, V> V get(Map<K, V> map, K key, Supplier<V> supplier) {
+    final V cached = map.get(key);
+    if (cached != null)
+      return cached;
+    final V result = supplier.get();
+    if (result == null)
+      return null;
+    final V previous = map.putIfAbsent(key, result);
+    return previous == null ? result : previous;
+  }
+}
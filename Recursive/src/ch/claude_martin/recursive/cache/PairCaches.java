@@ -0,0 +1,117 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/** Caches of two primitive arguments that use a {@link LongPairTable}. Both arguments are used as
+ * {@code long} keys, doubles by their bits. All caches share one lookup per type of value. The
+ * supplier might use the cache and change the table. So the slot is searched again after the value
+ * is calculated. */
+final class PairCaches {
+  private PairCaches() {
+    throw new UnsupportedOperationException();
+  }
+
+  static DoubleBinaryOperatorCache doubleBinaryOperator(LongPairTable table) {
+    return (a, b, s) -> doubleValue(table, Hashing.bits(a), Hashing.bits(b), s);
+  }
+
+  static <R> IntIntFunctionCache<R> intIntFunction(LongPairTable table) {
+    return (l, r, s) -> object(table, l, r, s);
+  }
+
+  static IntIntToDoubleFunctionCache intIntToDoubleFunction(LongPairTable table) {
+    return (l, r, s) -> doubleValue(table, l, r, s);
+  }
+
+  static IntIntToLongFunctionCache intIntToLongFunction(LongPairTable table) {
+    return (l, r, s) -> longValue(table, l, r, s);
+  }
+
+  static <R> IntLongFunctionCache<R> intLongFunction(LongPairTable table) {
+    return (l, r, s) -> object(table, l, r, s);
+  }
+
+  static IntLongToDoubleFunctionCache intLongToDoubleFunction(LongPairTable table) {
+    return (l, r, s) -> doubleValue(table, l, r, s);
+  }
+
+  static IntLongToIntFunctionCache intLongToIntFunction(LongPairTable table) {
+    return (l, r, s) -> intValue(table, l, r, s);
+  }
+
+  static IntLongToLongFunctionCache intLongToLongFunction(LongPairTable table) {
+    return (l, r, s) -> longValue(table, l, r, s);
+  }
+
+  static <R> LongIntFunctionCache<R> longIntFunction(LongPairTable table) {
+    return (l, r, s) -> object(table, l, r, s);
+  }
+
+  static LongIntToDoubleFunctionCache longIntToDoubleFunction(LongPairTable table) {
+    return (l, r, s) -> doubleValue(table, l, r, s);
+  }
+
+  static LongIntToIntFunctionCache longIntToIntFunction(LongPairTable table) {
+    return (l, r, s) -> intValue(table, l, r, s);
+  }
+
+  static LongIntToLongFunctionCache longIntToLongFunction(LongPairTable table) {
+    return (l, r, s) -> longValue(table, l, r, s);
+  }
+
+  static <R> LongLongFunctionCache<R> longLongFunction(LongPairTable table) {
+    return (l, r, s) -> object(table, l, r, s);
+  }
+
+  static LongLongToDoubleFunctionCache longLongToDoubleFunction(LongPairTable table) {
+    return (l, r, s) -> doubleValue(table, l, r, s);
+  }
+
+  static LongLongToIntFunctionCache longLongToIntFunction(LongPairTable table) {
+    return (l, r, s) -> intValue(table, l, r, s);
+  }
+
+  static LongBinaryOperatorCache longBinaryOperator(LongPairTable table) {
+    return (l, r, s) -> longValue(table, l, r, s);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <R> R object(LongPairTable table, long l, long r, Supplier<R> s) {
+    final int i = table.find(l, r);
+    if (i >= 0)
+      return (R) table.object(i);
+    final R result = s.get();
+    table.putObject(l, r, result);
+    return result;
+  }
+
+  private static long longValue(LongPairTable table, long l, long r, LongSupplier s) {
+    final int i = table.find(l, r);
+    if (i >= 0)
+      return table.value(i);
+    final long result = s.getAsLong();
+    table.put(l, r, result);
+    return result;
+  }
+
+  private static int intValue(LongPairTable table, long l, long r, IntSupplier s) {
+    final int i = table.find(l, r);
+    if (i >= 0)
+      return (int) table.value(i);
+    final int result = s.getAsInt();
+    table.put(l, r, result);
+    return result;
+  }
+
+  private static double doubleValue(LongPairTable table, long l, long r, DoubleSupplier s) {
+    final int i = table.find(l, r);
+    if (i >= 0)
+      return Double.longBitsToDouble(table.value(i));
+    final double result = s.getAsDouble();
+    table.put(l, r, Double.doubleToRawLongBits(result));
+    return result;
+  }
+}
@@ -0,0 +1,33 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.function.BooleanSupplier;
+
+/** Dense tri-state storage for predicate caches. Each key uses two bits of a {@code long[]}: one
+ * that tells whether the result is known and one for the result. So 32 keys share one word.
+ * 
+ * <p>
+ * This is not thread safe. */
+final class PredicateBits {
+  static final int KEYS_PER_WORD = 32;
+  private static final long KNOWN = 1L, TRUE = 2L;
+
+  private final long[] words;
+
+  PredicateBits(long size) {
+    final long length = (size + KEYS_PER_WORD - 1) / KEYS_PER_WORD;
+    if (size < 1 || length > Integer.MAX_VALUE - 8)
+      throw new IllegalArgumentException("size=" + size);
+    this.words = new long[(int) length];
+  }
+
+  /** Returns the cached result for the index or calculates and stores it. */
+  boolean get(long index, BooleanSupplier supplier) {
+    final int w = (int) (index >>> 5), shift = (int) (index & 31) << 1;
+    final long bits = this.words[w] >>> shift;
+    if ((bits & KNOWN) != 0)
+      return (bits & TRUE) != 0;
+    final boolean result = supplier.getAsBoolean();
+    this.words[w] |= (result ? KNOWN | TRUE : KNOWN) << shift;
+    return result;
+  }
+}
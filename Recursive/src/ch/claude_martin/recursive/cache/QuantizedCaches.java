@@ -0,0 +1,54 @@
+package ch.claude_martin.recursive.cache;
+
+import static java.util.Objects.requireNonNull;
+
+/** Caches of {@code double} keys that use the {@link Tolerance#cell(double) cell} of each key in a
+ * {@link LongPairTable}. */
+final class QuantizedCaches {
+  private QuantizedCaches() {
+    throw new UnsupportedOperationException();
+  }
+
+  static DoubleUnaryOperatorCache doubleUnaryOperator(Tolerance tolerance) {
+    requireNonNull(tolerance, "tolerance");
+    final LongPairTable table = new LongPairTable(64, false, false);
+    return (d, s) -> {
+      final long cell = tolerance.cell(d);
+      final int i = table.find(cell, 0);
+      if (i >= 0)
+        return Double.longBitsToDouble(table.value(i));
+      final double result = s.getAsDouble();
+      table.put(cell, 0, Double.doubleToRawLongBits(result));
+      return result;
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  static <R> DoubleFunctionCache<R> doubleFunction(Tolerance tolerance) {
+    requireNonNull(tolerance, "tolerance");
+    final LongPairTable table = new LongPairTable(64, false, true);
+    return (d, s) -> {
+      final long cell = tolerance.cell(d);
+      final int i = table.find(cell, 0);
+      if (i >= 0)
+        return (R) table.object(i);
+      final R result = s.get();
+      table.putObject(cell, 0, result);
+      return result;
+    };
+  }
+
+  static DoubleBinaryOperatorCache doubleBinaryOperator(Tolerance tolerance) {
+    requireNonNull(tolerance, "tolerance");
+    final LongPairTable table = new LongPairTable(64, false, false);
+    return (a, b, s) -> {
+      final long l = tolerance.cell(a), r = tolerance.cell(b);
+      final int i = table.find(l, r);
+      if (i >= 0)
+        return Double.longBitsToDouble(table.value(i));
+      final double result = s.getAsDouble();
+      table.put(l, r, Double.doubleToRawLongBits(result));
+      return result;
+    };
+  }
+}
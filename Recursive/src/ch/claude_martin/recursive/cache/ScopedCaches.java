@@ -0,0 +1,115 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.HashMap;
+
+/** Caches that only exist during one call from outside of the recursion. The outermost call takes
+ * a table from the {@link TablePool} of the current thread and returns it when it is done. Each
+ * thread has its own scope, so these caches can be used by many threads at the same time. */
+final class ScopedCaches {
+  private ScopedCaches() {
+    throw new UnsupportedOperationException();
+  }
+
+  /** The state of one cache on one thread. */
+  private static final class Scope<T> {
+    /** Number of calculations on the stack. */
+    int depth;
+    T table;
+  }
+
+  /** Stored instead of null. */
+  private static final Object NULL = new Object();
+
+  static <T, R> FunctionCache<T, R> function() {
+    final ThreadLocal<Scope<HashMap<T, Object>>> scopes = ThreadLocal.withInitial(Scope::new);
+    return (t, s) -> {
+      final Scope<HashMap<T, Object>> scope = scopes.get();
+      if (scope.depth == 0)
+        scope.table = TablePool.map();
+      else {
+        final Object cached = scope.table.get(t);
+        if (cached != null)
+          return cached == NULL ? null : cast(cached);
+      }
+      scope.depth++;
+      try {
+        final R result = s.get();
+        scope.table.put(t, result == null ? NULL : result);
+        return result;
+      } finally {
+        if (--scope.depth == 0) {
+          TablePool.release(scope.table);
+          scope.table = null;
+        }
+      }
+    };
+  }
+
+  static <R> IntFunctionCache<R> intFunction(int min, int max) {
+    final int size = size(min, max);
+    final ThreadLocal<Scope<TablePool.ObjectTable>> scopes = ThreadLocal.withInitial(Scope::new);
+    return (i, s) -> {
+      final int index = index(i, min, max);
+      final Scope<TablePool.ObjectTable> scope = scopes.get();
+      if (scope.depth == 0)
+        scope.table = TablePool.objects(size);
+      else if (scope.table.isKnown(index))
+        return cast(scope.table.values[index]);
+      scope.depth++;
+      try {
+        final R result = s.get();
+        scope.table.set(index, result);
+        return result;
+      } finally {
+        if (--scope.depth == 0) {
+          TablePool.release(scope.table);
+          scope.table = null;
+        }
+      }
+    };
+  }
+
+  static IntToLongFunctionCache intToLongFunction(int min, int max) {
+    final int size = size(min, max);
+    final ThreadLocal<Scope<TablePool.LongTable>> scopes = ThreadLocal.withInitial(Scope::new);
+    return (i, s) -> {
+      final int index = index(i, min, max);
+      final Scope<TablePool.LongTable> scope = scopes.get();
+      if (scope.depth == 0)
+        scope.table = TablePool.longs(size);
+      else if (scope.table.isKnown(index))
+        return scope.table.values[index];
+      scope.depth++;
+      try {
+        final long result = s.getAsLong();
+        scope.table.set(index, result);
+        return result;
+      } finally {
+        if (--scope.depth == 0) {
+          TablePool.release(scope.table);
+          scope.table = null;
+        }
+      }
+    };
+  }
+
+  private static int size(int min, int max) {
+    if (min >= max)
+      throw new IllegalArgumentException(String.format("min=%d; max=%d", min, max));
+    final long size = (long) max + 1 - min;
+    if (size > Integer.MAX_VALUE - 8)
+      throw new IllegalArgumentException(String.format("min=%d; max=%d", min, max));
+    return (int) size;
+  }
+
+  private static int index(int i, int min, int max) {
+    if (i < min || i > max)
+      throw new IllegalArgumentException(i + " is not in bounds of used cache.");
+    return i - min;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <R> R cast(Object o) {
+    return (R) o;
+  }
+}
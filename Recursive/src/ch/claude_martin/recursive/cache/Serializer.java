@@ -0,0 +1,97 @@
+package ch.claude_martin.recursive.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+
+/** Writes and reads keys or values of a cache that spills to a file.
+ * 
+ * @see SpillingFunctionCache */
+public interface Serializer<T> {
+  public void write(T value, DataOutput out) throws IOException;
+
+  public T read(DataInput in) throws IOException;
+
+  /** Integers as 4 bytes, big-endian. */
+  public static Serializer<Integer> ofInteger() {
+    return new Serializer<Integer>() {
+      @Override
+      public void write(Integer value, DataOutput out) throws IOException {
+        out.writeInt(value);
+      }
+
+      @Override
+      public Integer read(DataInput in) throws IOException {
+        return in.readInt();
+      }
+    };
+  }
+
+  /** Longs as 8 bytes, big-endian. */
+  public static Serializer<Long> ofLong() {
+    return new Serializer<Long>() {
+      @Override
+      public void write(Long value, DataOutput out) throws IOException {
+        out.writeLong(value);
+      }
+
+      @Override
+      public Long read(DataInput in) throws IOException {
+        return in.readLong();
+      }
+    };
+  }
+
+  /** Strings of any length, as UTF-8. */
+  public static Serializer<String> ofString() {
+    return new Serializer<String>() {
+      @Override
+      public void write(String value, DataOutput out) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+      }
+
+      @Override
+      public String read(DataInput in) throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+      }
+    };
+  }
+
+  /** Java serialization. This works for all {@link Serializable} types, but it is slow and the
+   * serialized data is large. */
+  public static <T extends Serializable> Serializer<T> ofSerializable() {
+    return new Serializer<T>() {
+      @Override
+      public void write(T value, DataOutput out) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+          oos.writeObject(value);
+        }
+        out.writeInt(bytes.size());
+        out.write(bytes.toByteArray());
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public T read(DataInput in) throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+          return (T) ois.readObject();
+        } catch (final ClassNotFoundException e) {
+          throw new IOException(e);
+        }
+      }
+    };
+  }
+}
@@ -0,0 +1,89 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/** Compressed bitmap for {@link LongPredicateCache#createSparse()}. The keys are split into chunks
+ * of 2<sup>16</sup> keys. Each chunk starts as a sorted array of entries, which is converted to a
+ * dense bitmap (two bits per key, 16 KiB) once it holds as many entries as would fit in the same
+ * memory.
+ * 
+ * <p>
+ * This is not thread safe. */
+final class SparsePredicateCache {
+  private static final int CHUNK_BITS = 16;
+  private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+  /** Array chunks with more entries are converted to bitmaps. */
+  private static final int MAX_ARRAY = (1 << CHUNK_BITS) / 16;
+
+  /** A chunk is either an array of entries or a bitmap. */
+  private static final class Chunk {
+    /** Sorted entries: {@code low << 1 | result}. Null, if this is a bitmap. */
+    int[] entries = new int[4];
+    int count;
+    PredicateBits bitmap;
+
+    /** Returns -1 for unknown, 0 for false and 1 for true. */
+    int find(int low) {
+      int lo = 0, hi = this.count - 1;
+      while (lo <= hi) {
+        final int mid = (lo + hi) >>> 1;
+        final int k = this.entries[mid] >>> 1;
+        if (k < low)
+          lo = mid + 1;
+        else if (k > low)
+          hi = mid - 1;
+        else
+          return this.entries[mid] & 1;
+      }
+      return -1;
+    }
+
+    void add(int low, boolean result) {
+      if (this.bitmap != null) {
+        this.bitmap.get(low, () -> result);
+        return;
+      }
+      if (this.find(low) >= 0)
+        return;
+      if (this.count == MAX_ARRAY) {
+        this.bitmap = new PredicateBits(1 << CHUNK_BITS);
+        for (int i = 0; i < this.count; i++) {
+          final boolean r = (this.entries[i] & 1) != 0;
+          this.bitmap.get(this.entries[i] >>> 1, () -> r);
+        }
+        this.bitmap.get(low, () -> result);
+        this.entries = null;
+        return;
+      }
+      if (this.count == this.entries.length)
+        this.entries = Arrays.copyOf(this.entries, this.count * 2);
+      int i = this.count++;
+      final int e = low << 1 | (result ? 1 : 0);
+      for (; i > 0 && this.entries[i - 1] > e; i--)
+        this.entries[i] = this.entries[i - 1];
+      this.entries[i] = e;
+    }
+  }
+
+  private final LongObjectTable<Chunk> chunks = new LongObjectTable<>(16);
+
+  boolean get(long key, BooleanSupplier supplier) {
+    final long high = key >> CHUNK_BITS;
+    final int low = (int) key & CHUNK_MASK;
+    Chunk chunk = this.chunks.get(high);
+    if (chunk != null) {
+      if (chunk.bitmap != null)
+        return chunk.bitmap.get(low, supplier);
+      final int found = chunk.find(low);
+      if (found >= 0)
+        return found == 1;
+    }
+    final boolean result = supplier.getAsBoolean();
+    // The supplier might have added the chunk.
+    if (chunk == null && (chunk = this.chunks.get(high)) == null)
+      this.chunks.put(high, chunk = new Chunk());
+    chunk.add(low, result);
+    return result;
+  }
+}
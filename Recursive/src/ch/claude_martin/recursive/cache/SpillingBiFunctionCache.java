@@ -0,0 +1,57 @@
+package ch.claude_martin.recursive.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/** A {@link SpillingFunctionCache} for two arguments. Both are written to the file.
+ * 
+ * @see BiFunctionCache#createSpilling(int, Path, Serializer, Serializer, Serializer) */
+public final class SpillingBiFunctionCache<T, U, R> implements BiFunctionCache<T, U, R>, Closeable {
+  private final SpillingFunctionCache<Pair<T, U>, R> cache;
+
+  SpillingBiFunctionCache(int heapEntries, Path path, Serializer<T> first, Serializer<U> second,
+      Serializer<R> values) throws IOException {
+    requireNonNull(first, "first");
+    requireNonNull(second, "second");
+    this.cache = new SpillingFunctionCache<>(heapEntries, path, new Serializer<Pair<T, U>>() {
+      @Override
+      public void write(Pair<T, U> pair, DataOutput out) throws IOException {
+        first.write(pair.first, out);
+        second.write(pair.second, out);
+      }
+
+      @Override
+      public Pair<T, U> read(DataInput in) throws IOException {
+        final T t = first.read(in);
+        return new Pair<>(t, second.read(in));
+      }
+    }, values);
+  }
+
+  @Override
+  public R get(T t, U u, Supplier<R> supplier) {
+    return this.cache.get(new Pair<>(t, u), supplier);
+  }
+
+  /** @see SpillingFunctionCache#heapSize() */
+  public int heapSize() {
+    return this.cache.heapSize();
+  }
+
+  /** @see SpillingFunctionCache#diskSize() */
+  public int diskSize() {
+    return this.cache.diskSize();
+  }
+
+  /** Closes and deletes the file. */
+  @Override
+  public void close() throws IOException {
+    this.cache.close();
+  }
+}
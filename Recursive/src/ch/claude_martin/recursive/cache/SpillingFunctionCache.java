@@ -0,0 +1,182 @@
+package ch.claude_martin.recursive.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/** A cache with two tiers. The heap tier holds a limited number of entries. The least recently used
+ * entry is moved to the disk tier, which is a file that is only appended. An index in memory holds
+ * the position of the last record for each hash code of the keys. Each record links to the previous
+ * record with the same hash code. A miss in the heap tier reads the records of the hash code and
+ * only calculates the value if the key is not found. A value that is found on disk is moved back to
+ * the heap tier.
+ * 
+ * <p>
+ * The file is deleted by {@link #close()}. {@code null} is never cached. This is thread safe, but
+ * the values are calculated without holding the lock.
+ * 
+ * @see FunctionCache#createSpilling(int, Path, Serializer, Serializer) */
+public final class SpillingFunctionCache<T, R> implements FunctionCache<T, R>, Closeable {
+  /** A value in the heap tier. */
+  private static final class Cached<R> {
+    final R value;
+    /** Is there a record of this entry in the file? */
+    final boolean written;
+
+    Cached(R value, boolean written) {
+      this.value = value;
+      this.written = written;
+    }
+  }
+
+  /** Position of the record before the first record of a hash code. */
+  private static final long NONE = -1;
+
+  private final Path path;
+  private final RandomAccessFile file;
+  private final Serializer<T> keys;
+  private final Serializer<R> values;
+  private final LinkedHashMap<T, Cached<R>> heap;
+  /** Hash code of the key to position of the last record. */
+  private final LongPairTable index = new LongPairTable(64, false, false);
+  private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+  private long end;
+  private int records;
+
+  SpillingFunctionCache(int heapEntries, Path path, Serializer<T> keys, Serializer<R> values)
+      throws IOException {
+    if (heapEntries < 1)
+      throw new IllegalArgumentException("heapEntries=" + heapEntries);
+    this.path = requireNonNull(path, "path");
+    this.keys = requireNonNull(keys, "keys");
+    this.values = requireNonNull(values, "values");
+    this.file = new RandomAccessFile(path.toFile(), "rw");
+    this.file.setLength(0);
+    this.heap = new LinkedHashMap<T, Cached<R>>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<T, Cached<R>> eldest) {
+        if (this.size() <= heapEntries)
+          return false;
+        if (!eldest.getValue().written)
+          SpillingFunctionCache.this.append(eldest.getKey(), eldest.getValue().value);
+        return true;
+      }
+    };
+  }
+
+  @Override
+  public R get(T key, Supplier<R> supplier) {
+    synchronized (this) {
+      final Cached<R> entry = this.heap.get(key);
+      if (entry != null)
+        return entry.value;
+      final R value = this.read(key);
+      if (value != null) {
+        this.heap.put(key, new Cached<>(value, true));
+        return value;
+      }
+    }
+    final R result = supplier.get();
+    if (result != null)
+      synchronized (this) {
+        this.heap.putIfAbsent(key, new Cached<>(result, false));
+      }
+    return result;
+  }
+
+  private static long hash(Object key) {
+    return Objects.hashCode(key);
+  }
+
+  /** Searches the key in the file. */
+  private R read(T key) {
+    final int slot = this.index.find(hash(key), 0);
+    if (slot < 0)
+      return null;
+    try {
+      for (long position = this.index.value(slot); position != NONE;) {
+        this.file.seek(position);
+        final byte[] bytes = new byte[this.file.readInt()];
+        this.file.readFully(bytes);
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        final long previous = in.readLong();
+        if (Objects.equals(key, this.keys.read(in)))
+          return this.values.read(in);
+        position = previous;
+      }
+      return null;
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Appends a record: length, position of previous record, key, value. */
+  private void append(T key, R value) {
+    final long hash = hash(key);
+    final int slot = this.index.find(hash, 0);
+    final long previous = slot < 0 ? NONE : this.index.value(slot);
+    try {
+      this.buffer.reset();
+      final DataOutputStream out = new DataOutputStream(this.buffer);
+      out.writeInt(0);
+      out.writeLong(previous);
+      this.keys.write(key, out);
+      this.values.write(value, out);
+      out.flush();
+      final byte[] bytes = this.buffer.toByteArray();
+      final int length = bytes.length - 4;
+      bytes[0] = (byte) (length >>> 24);
+      bytes[1] = (byte) (length >>> 16);
+      bytes[2] = (byte) (length >>> 8);
+      bytes[3] = (byte) length;
+      this.file.seek(this.end);
+      this.file.write(bytes);
+      this.index.put(hash, 0, this.end);
+      this.end += bytes.length;
+      this.records++;
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Number of entries in the heap tier. */
+  public synchronized int heapSize() {
+    return this.heap.size();
+  }
+
+  /** Number of records in the file. */
+  public synchronized int diskSize() {
+    return this.records;
+  }
+
+  /** Size of the file in bytes. */
+  public synchronized long diskBytes() {
+    return this.end;
+  }
+
+  /** Closes and deletes the file. The cache can't be used after this. */
+  @Override
+  public synchronized void close() throws IOException {
+    this.heap.clear();
+    try {
+      this.file.close();
+    } finally {
+      Files.deleteIfExists(this.path);
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/** Thread local pool of tables for scoped caches. Released tables are cleared and reused by the
+ * next scope of the same thread that needs a table of the same size, instead of allocating a new
+ * one. At most {@value #MAX_POOLED} tables of each size are kept per thread, and at most
+ * {@value #MAX_POOLED_SLOTS} slots of all tables of one thread. Larger tables are dropped. */
+final class TablePool {
+  private TablePool() {
+    throw new UnsupportedOperationException();
+  }
+
+  static final int MAX_POOLED = 2;
+  static final int MAX_POOLED_SLOTS = 1 << 20;
+
+  /** A table with a generation stamp per slot. Clearing only increments the generation, so the
+   * values of a cleared table stay referenced until they are overwritten. */
+  abstract static class Table {
+    final int[] stamps;
+    int generation = 1;
+
+    Table(int length) {
+      this.stamps = new int[length];
+    }
+
+    final boolean isKnown(int i) {
+      return this.stamps[i] == this.generation;
+    }
+
+    final void clear() {
+      if (++this.generation == 0) {
+        Arrays.fill(this.stamps, 0);
+        this.generation = 1;
+      }
+    }
+  }
+
+  /** Primitive values. */
+  static final class LongTable extends Table {
+    final long[] values;
+
+    LongTable(int length) {
+      super(length);
+      this.values = new long[length];
+    }
+
+    void set(int i, long value) {
+      this.values[i] = value;
+      this.stamps[i] = this.generation;
+    }
+  }
+
+  /** Object values, including null. */
+  static final class ObjectTable extends Table {
+    final Object[] values;
+
+    ObjectTable(int length) {
+      super(length);
+      this.values = new Object[length];
+    }
+
+    void set(int i, Object value) {
+      this.values[i] = value;
+      this.stamps[i] = this.generation;
+    }
+  }
+
+  private static final class Pools {
+    final Map<Integer, ArrayDeque<ObjectTable>> objects = new HashMap<>();
+    final Map<Integer, ArrayDeque<LongTable>> longs = new HashMap<>();
+    final ArrayDeque<HashMap<?, ?>> maps = new ArrayDeque<>();
+    /** Number of slots of all pooled tables. */
+    int slots;
+
+    <T extends Table> T take(Map<Integer, ArrayDeque<T>> pools, int length) {
+      final ArrayDeque<T> pool = pools.get(length);
+      final T table = pool == null ? null : pool.poll();
+      if (table != null)
+        this.slots -= length;
+      return table;
+    }
+
+    <T extends Table> void give(Map<Integer, ArrayDeque<T>> pools, T table) {
+      final int length = table.stamps.length;
+      if (length > MAX_POOLED_SLOTS - this.slots)
+        return;
+      final ArrayDeque<T> pool = pools.computeIfAbsent(length, l -> new ArrayDeque<>());
+      if (pool.size() < MAX_POOLED) {
+        table.clear();
+        pool.push(table);
+        this.slots += length;
+      }
+    }
+  }
+
+  private static final ThreadLocal<Pools> POOLS = ThreadLocal.withInitial(Pools::new);
+
+  /** A table without known values. */
+  static ObjectTable objects(int length) {
+    final Pools pools = POOLS.get();
+    final ObjectTable table = pools.take(pools.objects, length);
+    return table == null ? new ObjectTable(length) : table;
+  }
+
+  static void release(ObjectTable table) {
+    final Pools pools = POOLS.get();
+    pools.give(pools.objects, table);
+  }
+
+  /** A table without known values. */
+  static LongTable longs(int length) {
+    final Pools pools = POOLS.get();
+    final LongTable table = pools.take(pools.longs, length);
+    return table == null ? new LongTable(length) : table;
+  }
+
+  static void release(LongTable table) {
+    final Pools pools = POOLS.get();
+    pools.give(pools.longs, table);
+  }
+
+  /** An empty map. */
+  @SuppressWarnings("unchecked")
+  static <K, V> HashMap<K, V> map() {
+    final HashMap<K, V> map = (HashMap<K, V>) POOLS.get().maps.poll();
+    return map == null ? new HashMap<>() : map;
+  }
+
+  static void release(HashMap<?, ?> map) {
+    map.clear();
+    final ArrayDeque<HashMap<?, ?>> pool = POOLS.get().maps;
+    if (pool.size() < MAX_POOLED)
+      pool.push(map);
+  }
+}
@@ -0,0 +1,92 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/** A cache without contention. Each thread has its own unsynchronized table. Entries are only
+ * shared when they are merged into a read-only tier, which all threads use without locking. Until
+ * then, different threads might calculate the same value. This is often much cheaper than
+ * synchronizing each access.
+ * 
+ * <p>
+ * Entries of a thread are merged when there are at least as many as the given threshold, or when
+ * {@link #merge()} is called on that thread. Each merge copies the shared tier. So the threshold
+ * grows with the shared tier: a thread needs at least 1/{@value #GROWTH} as many entries as are
+ * shared. This keeps the cost of all merges linear in the number of entries.
+ * 
+ * @see FunctionCache#createThreadLocal(int) */
+public final class ThreadLocalFunctionCache<T, R> implements FunctionCache<T, R> {
+  /** Stored instead of null. */
+  private static final Object NULL = new Object();
+  /** The threshold is at least the shared size divided by this. */
+  static final int GROWTH = 8;
+
+  private final int mergeThreshold;
+  /** Never modified after publication. */
+  private volatile Map<T, Object> shared = Collections.emptyMap();
+  private final ThreadLocal<HashMap<T, Object>> local = ThreadLocal.withInitial(HashMap::new);
+
+  /** @param mergeThreshold
+   *          minimal number of local entries that are merged automatically, or 0 to only merge on
+   *          demand. */
+  ThreadLocalFunctionCache(int mergeThreshold) {
+    if (mergeThreshold < 0)
+      throw new IllegalArgumentException("mergeThreshold=" + mergeThreshold);
+    this.mergeThreshold = mergeThreshold;
+  }
+
+  @Override
+  public R get(T key, Supplier<R> supplier) {
+    Object cached = this.shared.get(key);
+    if (cached != null)
+      return unwrap(cached);
+    final HashMap<T, Object> map = this.local.get();
+    cached = map.get(key);
+    if (cached != null)
+      return unwrap(cached);
+    final R result = supplier.get();
+    map.put(key, result == null ? NULL : result);
+    if (this.mergeThreshold > 0
+        && map.size() >= mergeThreshold(this.mergeThreshold, this.shared.size()))
+      this.merge(map);
+    return result;
+  }
+
+  /** The number of local entries that are merged, when there are {@code shared} entries. */
+  static int mergeThreshold(int threshold, int shared) {
+    return Math.max(threshold, shared / GROWTH);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <R> R unwrap(Object cached) {
+    return cached == NULL ? null : (R) cached;
+  }
+
+  /** Moves the entries of the current thread to the shared tier. */
+  public void merge() {
+    this.merge(this.local.get());
+  }
+
+  private void merge(HashMap<T, Object> map) {
+    if (map.isEmpty())
+      return;
+    synchronized (this) {
+      final HashMap<T, Object> merged = new HashMap<>(this.shared);
+      merged.putAll(map);
+      this.shared = merged;
+    }
+    map.clear();
+  }
+
+  /** Number of entries in the shared tier. */
+  public int sharedSize() {
+    return this.shared.size();
+  }
+
+  /** Number of entries of the current thread that are not merged yet. */
+  public int localSize() {
+    return this.local.get().size();
+  }
+}
@@ -0,0 +1,106 @@
+package ch.claude_martin.recursive.cache;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/** A cache without contention for {@link java.util.function.IntToLongFunction}. Each thread has its
+ * own unsynchronized table. The shared tier is a pair of sorted arrays, which all threads read
+ * without locking. No boxing is done.
+ * 
+ * @see ThreadLocalFunctionCache
+ * @see IntToLongFunctionCache#createThreadLocal(int) */
+public final class ThreadLocalIntToLongFunctionCache implements IntToLongFunctionCache {
+  /** Sorted keys and their values. Never modified after publication. */
+  private static final class Tier {
+    final int[] keys;
+    final long[] values;
+
+    Tier(int[] keys, long[] values) {
+      this.keys = keys;
+      this.values = values;
+    }
+  }
+
+  private final int mergeThreshold;
+  private volatile Tier shared = new Tier(new int[0], new long[0]);
+  /** Entries of one thread. The right key is always 0. */
+  private final ThreadLocal<LongPairTable> local = ThreadLocal
+      .withInitial(() -> new LongPairTable(64, false, false));
+
+  /** @param mergeThreshold
+   *          minimal number of local entries that are merged automatically, or 0 to only merge on
+   *          demand. The threshold grows with the shared tier, as in
+   *          {@link ThreadLocalFunctionCache}. */
+  ThreadLocalIntToLongFunctionCache(int mergeThreshold) {
+    if (mergeThreshold < 0)
+      throw new IllegalArgumentException("mergeThreshold=" + mergeThreshold);
+    this.mergeThreshold = mergeThreshold;
+  }
+
+  @Override
+  public long get(int key, LongSupplier supplier) {
+    final Tier tier = this.shared;
+    final int index = Arrays.binarySearch(tier.keys, key);
+    if (index >= 0)
+      return tier.values[index];
+    LongPairTable l = this.local.get();
+    final int slot = l.find(key, 0);
+    if (slot >= 0)
+      return l.value(slot);
+    final long result = supplier.getAsLong();
+    // A merge during the recursion replaces the local table.
+    l = this.local.get();
+    l.put(key, 0, result);
+    final int shared = tier.keys.length;
+    if (this.mergeThreshold > 0
+        && l.size() >= ThreadLocalFunctionCache.mergeThreshold(this.mergeThreshold, shared))
+      this.merge(l);
+    return result;
+  }
+
+  /** Moves the entries of the current thread to the shared tier. */
+  public void merge() {
+    this.merge(this.local.get());
+  }
+
+  private void merge(LongPairTable l) {
+    if (l.size() == 0)
+      return;
+    // sort local entries by key, the slot is in the lower half.
+    final long[] order = new long[l.size()];
+    for (int i = 0, n = 0; i < l.length(); i++)
+      if (l.isUsed(i))
+        order[n++] = l.left(i) << 32 | i;
+    Arrays.sort(order);
+    synchronized (this) {
+      final Tier old = this.shared;
+      final int[] keys = new int[old.keys.length + order.length];
+      final long[] values = new long[keys.length];
+      int a = 0, b = 0, n = 0;
+      while (a < old.keys.length || b < order.length) {
+        final int lk = b < order.length ? (int) (order[b] >> 32) : 0;
+        if (b == order.length || a < old.keys.length && old.keys[a] <= lk) {
+          if (b < order.length && old.keys[a] == lk)
+            b++; // already shared
+          keys[n] = old.keys[a];
+          values[n++] = old.values[a++];
+        } else {
+          keys[n] = lk;
+          values[n++] = l.value((int) order[b++]);
+        }
+      }
+      this.shared = new Tier(Arrays.copyOf(keys, n), Arrays.copyOf(values, n));
+    }
+    this.local.remove();
+  }
+
+  /** Number of entries in the shared tier. */
+  public int sharedSize() {
+    return this.shared.keys.length;
+  }
+
+  /** Number of entries of the current thread that are not merged yet. */
+  public int localSize() {
+    return this.local.get().size();
+  }
+}
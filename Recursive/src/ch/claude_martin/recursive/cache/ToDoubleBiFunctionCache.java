@@ -17,7 +17,7 @@ public interface ToDoubleBiFunctionCache<T, U> {
    * @see FunctionCache#create(Supplier) */
   public static <T, U> ToDoubleBiFunctionCache<T, U> create(Supplier<Map<Object, Double>> ctor) {
     final Map<Object, Double> map = requireNonNull(ctor, "ctor").get();
-    return (t, u, s) -> map.computeIfAbsent(new Pair<>(t, u), key -> s.getAsDouble());
+    return (t, u, s) -> MapCaches.get(map, new Pair<>(t, u), s::getAsDouble);
   }
 
   /** Default cache, using {@link HashMap}. */
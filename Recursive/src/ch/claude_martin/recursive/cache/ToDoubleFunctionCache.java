@@ -5,4 +5,19 @@ import java.util.function.DoubleSupplier;
 @FunctionalInterface
 public interface ToDoubleFunctionCache<T> {
   public double get(T key, DoubleSupplier supplier);
+
+  /** Cache that compares keys by identity and stores primitive values.
+   * 
+   * @see FunctionCache#createIdentity(boolean) */
+  public static <T> ToDoubleFunctionCache<T> createIdentity(boolean weakKeys) {
+    final IdentityTable table = new IdentityTable(weakKeys, false);
+    return (t, s) -> {
+      final int i = table.find(t);
+      if (i >= 0)
+        return Double.longBitsToDouble(table.value(i));
+      final double result = s.getAsDouble();
+      table.put(t, Double.doubleToRawLongBits(result));
+      return result;
+    };
+  }
 }
@@ -17,7 +17,7 @@ public interface ToIntBiFunctionCache<T, U> {
    * @see FunctionCache#create(Supplier) */
   public static <T, U> ToIntBiFunctionCache<T, U> create(Supplier<Map<Object, Integer>> ctor) {
     final Map<Object, Integer> map = requireNonNull(ctor, "ctor").get();
-    return (t, u, s) -> map.computeIfAbsent(new Pair<>(t, u), key -> s.getAsInt());
+    return (t, u, s) -> MapCaches.get(map, new Pair<>(t, u), s::getAsInt);
   }
 
   /** Default cache, using {@link HashMap}. */
@@ -5,4 +5,27 @@ import java.util.function.IntSupplier;
 @FunctionalInterface
 public interface ToIntFunctionCache<T> {
   public int get(T key, IntSupplier supplier);
+
+  /** Cache that only stores a fingerprint of each key. No boxing is done, unless it is verified.
+   * 
+   * @see FunctionCache#createFingerprinted(Fingerprint, int, boolean) */
+  public static <T> ToIntFunctionCache<T> createFingerprinted(Fingerprint<? super T> fingerprint,
+      int bits, boolean verify) {
+    return FingerprintCaches.toIntFunction(fingerprint, bits, verify);
+  }
+
+  /** Cache that compares keys by identity and stores primitive values.
+   * 
+   * @see FunctionCache#createIdentity(boolean) */
+  public static <T> ToIntFunctionCache<T> createIdentity(boolean weakKeys) {
+    final IdentityTable table = new IdentityTable(weakKeys, false);
+    return (t, s) -> {
+      final int i = table.find(t);
+      if (i >= 0)
+        return (int) table.value(i);
+      final int result = s.getAsInt();
+      table.put(t, result);
+      return result;
+    };
+  }
 }
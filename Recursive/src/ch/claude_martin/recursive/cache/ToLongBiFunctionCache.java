@@ -17,7 +17,7 @@ public interface ToLongBiFunctionCache<T, U> {
    * @see FunctionCache#create(Supplier) */
   public static <T, U> ToLongBiFunctionCache<T, U> create(Supplier<Map<Object, Long>> ctor) {
     final Map<Object, Long> map = requireNonNull(ctor, "ctor").get();
-    return (t, u, s) -> map.computeIfAbsent(new Pair<>(t, u), key -> s.getAsLong());
+    return (t, u, s) -> MapCaches.get(map, new Pair<>(t, u), s::getAsLong);
   }
 
   /** Default cache, using {@link HashMap}. */
@@ -5,4 +5,19 @@ import java.util.function.LongSupplier;
 @FunctionalInterface
 public interface ToLongFunctionCache<T> {
   public long get(T key, LongSupplier supplier);
+
+  /** Cache that compares keys by identity and stores primitive values.
+   * 
+   * @see FunctionCache#createIdentity(boolean) */
+  public static <T> ToLongFunctionCache<T> createIdentity(boolean weakKeys) {
+    final IdentityTable table = new IdentityTable(weakKeys, false);
+    return (t, s) -> {
+      final int i = table.find(t);
+      if (i >= 0)
+        return table.value(i);
+      final long result = s.getAsLong();
+      table.put(t, result);
+      return result;
+    };
+  }
 }
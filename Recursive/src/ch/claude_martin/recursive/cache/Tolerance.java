@@ -0,0 +1,76 @@
+package ch.claude_martin.recursive.cache;
+
+/** A grid for keys of type {@code double}. All keys in the same cell of the grid are the same key
+ * of a quantized cache. The value of a cell is calculated with the first key that is used.
+ * 
+ * <p>
+ * The grid has either cells of the same absolute size, or cells of a size that is relative to the
+ * value. A relative tolerance is rounded down to a power of two, so that the cell is found by
+ * rounding the bits of the mantissa. NaN is one cell, and so are both infinite values.
+ * 
+ * @see DoubleUnaryOperatorCache#createQuantized(Tolerance) */
+public final class Tolerance {
+  /** Cells of absolute size are used up to this size of the quotient. */
+  private static final double MAX_CELLS = 0x1p62;
+  /** Bits of positive infinity. Larger magnitudes are NaN. */
+  private static final long INFINITY = 0x7FF0000000000000L;
+
+  private final boolean relative;
+  private final double step;
+  private final double inverse;
+  /** Number of dropped bits of the mantissa. */
+  private final int drop;
+
+  private Tolerance(boolean relative, double step, int drop) {
+    this.relative = relative;
+    this.step = step;
+    this.inverse = 1 / step;
+    this.drop = drop;
+  }
+
+  /** Cells of the given size, so that {@code x} and {@code x + step} are in different cells. Values
+   * that are too large for the grid (more than 2<sup>62</sup> times the step) are only rounded to
+   * a few units in the last place. */
+  public static Tolerance absolute(double step) {
+    if (!(step > 0) || Double.isInfinite(step))
+      throw new IllegalArgumentException("step=" + step);
+    return new Tolerance(false, step, 0);
+  }
+
+  /** Cells with a size of at most {@code epsilon} times the value. The actual size is the largest
+   * power of two that is not larger than epsilon. */
+  public static Tolerance relative(double epsilon) {
+    if (!(epsilon > 0 && epsilon < 1))
+      throw new IllegalArgumentException("epsilon=" + epsilon);
+    // bits of the mantissa that are kept: 2^-keep <= epsilon
+    final int keep = Math.min(52, -Math.getExponent(epsilon));
+    return new Tolerance(true, Math.scalb(1.0, -keep), 52 - keep);
+  }
+
+  /** The cell of the key. */
+  long cell(double key) {
+    if (this.relative) {
+      final long bits = Hashing.bits(key);
+      if (this.drop == 0)
+        return bits;
+      // rounds the magnitude, the sign bit is not changed.
+      final long sign = bits & Long.MIN_VALUE;
+      final long magnitude = bits & Long.MAX_VALUE;
+      // Infinity and NaN are not rounded. Rounded finite keys are smaller, even if the rounding
+      // carries into the exponent.
+      if (magnitude >= INFINITY)
+        return bits;
+      return sign | (magnitude + (1L << (this.drop - 1))) >>> this.drop;
+    }
+    final double q = key * this.inverse;
+    if (Math.abs(q) < MAX_CELLS)
+      return Math.round(q);
+    // outside of the grid: the two highest bits are 10, which is never a cell of the grid.
+    return Long.MIN_VALUE | Hashing.bits(key) >>> 2;
+  }
+
+  @Override
+  public String toString() {
+    return (this.relative ? "relative tolerance " : "absolute tolerance ") + this.step;
+  }
+}
@@ -0,0 +1,7 @@
+package ch.claude_martin.recursive.function;
+
+/** Represents a function that accepts three int-valued arguments and produces a result. */
+@FunctionalInterface
+public interface Int3Function<R> {
+  R apply(int a, int b, int c);
+}
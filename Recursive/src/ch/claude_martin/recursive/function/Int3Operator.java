@@ -0,0 +1,7 @@
+package ch.claude_martin.recursive.function;
+
+/** Represents an operation upon three int-valued operands and producing an int-valued result. */
+@FunctionalInterface
+public interface Int3Operator {
+  int applyAsInt(int a, int b, int c);
+}
@@ -0,0 +1,7 @@
+package ch.claude_martin.recursive.function;
+
+/** Represents a function that accepts four int-valued arguments and produces a result. */
+@FunctionalInterface
+public interface Int4Function<R> {
+  R apply(int a, int b, int c, int d);
+}
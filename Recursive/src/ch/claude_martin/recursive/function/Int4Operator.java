@@ -0,0 +1,7 @@
+package ch.claude_martin.recursive.function;
+
+/** Represents an operation upon four int-valued operands and producing an int-valued result. */
+@FunctionalInterface
+public interface Int4Operator {
+  int applyAsInt(int a, int b, int c, int d);
+}
@@ -0,0 +1,8 @@
+package ch.claude_martin.recursive.function;
+
+/** Represents a function that accepts four int-valued arguments and produces a long-valued result.
+ * */
+@FunctionalInterface
+public interface Int4ToLongFunction {
+  long applyAsLong(int a, int b, int c, int d);
+}
@@ -0,0 +1,8 @@
+package ch.claude_martin.recursive.function;
+
+/** Represents a function that accepts an int-valued and an int-valued argument, and produces a
+ * result. */
+@FunctionalInterface
+public interface IntIntFunction<R> {
+  R apply(int left, int right);
+}
@@ -0,0 +1,8 @@
+package ch.claude_martin.recursive.function;
+
+/** Represents a function that accepts an int-valued and an int-valued argument, and produces a
+ * double-valued result. */
+@FunctionalInterface
+public interface IntIntToDoubleFunction {
+  double applyAsDouble(int left, int right);
+}
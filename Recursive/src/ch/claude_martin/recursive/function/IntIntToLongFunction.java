@@ -0,0 +1,8 @@
+package ch.claude_martin.recursive.function;
+
+/** Represents a function that accepts an int-valued and an int-valued argument, and produces a
+ * long-valued result. */
+@FunctionalInterface
+public interface IntIntToLongFunction {
+  long applyAsLong(int left, int right);
+}
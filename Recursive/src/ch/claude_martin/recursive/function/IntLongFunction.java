@@ -0,0 +1,8 @@
+package ch.claude_martin.recursive.function;
+
+/** Represents a function that accepts an int-valued and a long-valued argument, and produces a
+ * result. */
+@FunctionalInterface
+public interface IntLongFunction<R> {
+  R apply(int left, long right);
+}
@@ -0,0 +1,8 @@
+package ch.claude_martin.recursive.function;
+
+/** Represents a function that accepts an int-valued and a long-valued argument, and produces a
+ * long-valued result. */
+@FunctionalInterface
+public interface IntLongToLongFunction {
+  long applyAsLong(int left, long right);
+}
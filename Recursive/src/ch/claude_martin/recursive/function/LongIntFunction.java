@@ -0,0 +1,8 @@
+package ch.claude_martin.recursive.function;
+
+/** Represents a function that accepts a long-valued and an int-valued argument, and produces a
+ * result. */
+@FunctionalInterface
+public interface LongIntFunction<R> {
+  R apply(long left, int right);
+}
@@ -0,0 +1,8 @@
+package ch.claude_martin.recursive.function;
+
+/** Represents a function that accepts a long-valued and a long-valued argument, and produces a
+ * result. */
+@FunctionalInterface
+public interface LongLongFunction<R> {
+  R apply(long left, long right);
+}
@@ -0,0 +1,8 @@
+package ch.claude_martin.recursive.function;
+
+/** Represents a function that accepts a long-valued and a long-valued argument, and produces a
+ * double-valued result. */
+@FunctionalInterface
+public interface LongLongToDoubleFunction {
+  double applyAsDouble(long left, long right);
+}
@@ -0,0 +1,13 @@
+package ch.claude_martin.recursive.function;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/** Body of a function that loads data in batches. It gets the key and the loaded value. The result
+ * of {@code self} is completed after the next batch, so the result of the body is a future that
+ * combines those results. */
+@FunctionalInterface
+public interface RecursiveBatchFunction<K, V, R> {
+  CompletableFuture<R> apply(final K key, final V value,
+      final Function<K, CompletableFuture<R>> self);
+}
@@ -0,0 +1,12 @@
+package ch.claude_martin.recursive.function;
+
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/** Body of a parallel search with two arguments.
+ * 
+ * @see RecursiveSearch */
+@FunctionalInterface
+public interface RecursiveBiSearch<T, U, R> {
+  Optional<R> apply(final T t, final U u, final BiConsumer<T, U> self);
+}
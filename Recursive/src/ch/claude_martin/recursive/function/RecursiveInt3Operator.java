@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveInt3Operator {
+  int apply(final int a, final int b, final int c, final Int3Operator self);
+}
@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveInt3ToDoubleFunction {
+  double apply(final int a, final int b, final int c, final Int3ToDoubleFunction self);
+}
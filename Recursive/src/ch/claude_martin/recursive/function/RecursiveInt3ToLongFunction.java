@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveInt3ToLongFunction {
+  long apply(final int a, final int b, final int c, final Int3ToLongFunction self);
+}
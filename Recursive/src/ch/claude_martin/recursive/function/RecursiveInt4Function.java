@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveInt4Function<R> {
+  R apply(final int a, final int b, final int c, final int d, final Int4Function<R> self);
+}
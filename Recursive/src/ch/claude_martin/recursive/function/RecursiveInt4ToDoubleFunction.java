@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveInt4ToDoubleFunction {
+  double apply(final int a, final int b, final int c, final int d, final Int4ToDoubleFunction self);
+}
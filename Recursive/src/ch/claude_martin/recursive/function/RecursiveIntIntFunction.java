@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveIntIntFunction<R> {
+  R apply(final int left, final int right, final IntIntFunction<R> self);
+}
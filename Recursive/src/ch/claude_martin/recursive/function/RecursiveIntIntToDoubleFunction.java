@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveIntIntToDoubleFunction {
+  double apply(final int left, final int right, final IntIntToDoubleFunction self);
+}
@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveIntIntToLongFunction {
+  long apply(final int left, final int right, final IntIntToLongFunction self);
+}
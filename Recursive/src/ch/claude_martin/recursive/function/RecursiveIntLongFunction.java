@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveIntLongFunction<R> {
+  R apply(final int left, final long right, final IntLongFunction<R> self);
+}
@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveIntLongToDoubleFunction {
+  double apply(final int left, final long right, final IntLongToDoubleFunction self);
+}
@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveIntLongToIntFunction {
+  int apply(final int left, final long right, final IntLongToIntFunction self);
+}
@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveIntLongToLongFunction {
+  long apply(final int left, final long right, final IntLongToLongFunction self);
+}
@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveLongIntFunction<R> {
+  R apply(final long left, final int right, final LongIntFunction<R> self);
+}
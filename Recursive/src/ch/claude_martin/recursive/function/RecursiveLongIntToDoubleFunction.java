@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveLongIntToDoubleFunction {
+  double apply(final long left, final int right, final LongIntToDoubleFunction self);
+}
@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveLongIntToIntFunction {
+  int apply(final long left, final int right, final LongIntToIntFunction self);
+}
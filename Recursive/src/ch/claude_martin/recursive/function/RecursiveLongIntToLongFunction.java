@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveLongIntToLongFunction {
+  long apply(final long left, final int right, final LongIntToLongFunction self);
+}
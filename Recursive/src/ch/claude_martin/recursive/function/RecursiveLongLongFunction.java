@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveLongLongFunction<R> {
+  R apply(final long left, final long right, final LongLongFunction<R> self);
+}
@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveLongLongToDoubleFunction {
+  double apply(final long left, final long right, final LongLongToDoubleFunction self);
+}
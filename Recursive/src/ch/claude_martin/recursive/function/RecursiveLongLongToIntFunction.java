@@ -0,0 +1,6 @@
+package ch.claude_martin.recursive.function;
+
+@FunctionalInterface
+public interface RecursiveLongLongToIntFunction {
+  int apply(final long left, final long right, final LongLongToIntFunction self);
+}
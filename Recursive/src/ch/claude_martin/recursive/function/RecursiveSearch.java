@@ -0,0 +1,12 @@
+package ch.claude_martin.recursive.function;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/** Body of a parallel search. It returns the result found at the given node, if any, and passes the
+ * children that must be searched to {@code self}. Those are searched in parallel. {@code self}
+ * throws an exception to stop the body when a result was found by another branch. */
+@FunctionalInterface
+public interface RecursiveSearch<T, R> {
+  Optional<R> apply(final T t, final Consumer<T> self);
+}
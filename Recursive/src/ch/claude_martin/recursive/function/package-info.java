@@ -1,5 +1,10 @@
 /**
  * Interfaces that extend all those in java.lang.function, except Suppliers and Consumers.
+ * <p>
+ * There are also functions of three and four int arguments, such as {@link Int3ToLongFunction},
+ * which are used for dynamic programming with more than two parameters, and functions of two
+ * primitive arguments of different types, such as {@link IntLongToDoubleFunction}.
+ * {@link RecursiveSearch} and {@link RecursiveBiSearch} are the bodies of parallel searches.
  *
  * @author Claude Martin
  *